@@ -23,6 +23,12 @@
  */
 package pw.ollie.args;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
 /**
  * A wrapper around a {@link String} which allows for parsing of many primitive
  * data types as well as providing methods to check whether the argument is a
@@ -30,12 +36,74 @@ package pw.ollie.args;
  *
  * Argument objects are immutable and any methods which may appear to make
  * a modification(s) to the state of the Argument will return a new object.
+ * Arguments are also {@link CharSequence}s, and sub-sequences and substrings
+ * are views sharing the same characters rather than copies.
+ *
+ * Arguments created by {@link Arguments} may be backed by a range of a larger
+ * sequence of characters, such as the line they were parsed from, in which
+ * case the raw string is only created when it is first needed.
+ *
+ * The value is parsed as a number the first time any of the numeric methods
+ * is called, and the result is kept, so checking the type of an Argument and
+ * then converting it only parses it once.
  */
-public class Argument {
+public class Argument implements CharSequence {
+    /**
+     * Type flag set once the value has been parsed.
+     */
+    private static final int CLASSIFIED = 1;
     /**
-     * The raw string for the argument wrapped by this Argument object.
+     * Type flag for a value which is a long, and so also an int or short if
+     * it is in range.
      */
-    private final String raw;
+    private static final int LONG = 2;
+    /**
+     * Type flag for a value which is a double, and so also a float.
+     */
+    private static final int DOUBLE = 4;
+    /**
+     * Type flag set once the float value has been parsed.
+     */
+    private static final int FLOAT = 8;
+
+    /**
+     * The raw string for the argument wrapped by this Argument object, or
+     * {@code null} if it hasn't been created from {@link #chars} yet.
+     */
+    private String raw;
+    /**
+     * The characters containing this Argument's value, between {@link #start}
+     * and {@link #end}.
+     */
+    private final CharSequence chars;
+    /**
+     * The start of this Argument's value in {@link #chars}, inclusive.
+     */
+    private final int start;
+    /**
+     * The end of this Argument's value in {@link #chars}, exclusive.
+     */
+    private final int end;
+    /**
+     * The types this Argument's value can be parsed as, or 0 if it hasn't
+     * been parsed yet. See {@link #types()}.
+     */
+    private volatile byte types;
+    /**
+     * This Argument's value as a long, if {@link #types} includes {@link
+     * #LONG}.
+     */
+    private long longValue;
+    /**
+     * This Argument's value as a double, if {@link #types} includes {@link
+     * #DOUBLE}.
+     */
+    private double doubleValue;
+    /**
+     * This Argument's value as a float, if {@link #types} includes {@link
+     * #FLOAT}.
+     */
+    private float floatValue;
 
     /**
      * Creates a new Argument, using the given String argument as a raw
@@ -48,6 +116,36 @@ public class Argument {
             throw new IllegalArgumentException();
         }
         this.raw = arg;
+        this.chars = arg;
+        this.start = 0;
+        this.end = arg.length();
+    }
+
+    /**
+     * Creates a new Argument with the same value as the given Argument,
+     * sharing its characters rather than copying them.
+     *
+     * @param argument the Argument to copy the value of
+     */
+    protected Argument(Argument argument) {
+        this.raw = argument.raw;
+        this.chars = argument.chars;
+        this.start = argument.start;
+        this.end = argument.end;
+    }
+
+    /**
+     * Creates a new Argument backed by the given range of characters, which
+     * must not change for the lifetime of the Argument.
+     *
+     * @param chars the characters containing the value
+     * @param start the start of the value, inclusive
+     * @param end the end of the value, exclusive
+     */
+    Argument(CharSequence chars, int start, int end) {
+        this.chars = chars;
+        this.start = start;
+        this.end = end;
     }
 
     /**
@@ -56,7 +154,11 @@ public class Argument {
      * @return this Argument's raw String value
      */
     public String get() {
-        return raw;
+        String result = raw;
+        if (result == null) {
+            result = raw = chars.subSequence(start, end).toString();
+        }
+        return result;
     }
 
     /**
@@ -66,7 +168,31 @@ public class Argument {
      * @throws NumberFormatException if the value isn't an int
      */
     public int asInt() {
-        return Integer.parseInt(raw);
+        if (!isInt()) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return (int) longValue;
+    }
+
+    /**
+     * Returns this Argument's value parsed as an int, or the given fallback
+     * if it isn't an int.
+     *
+     * @param fallback the value to return if the value isn't an int
+     * @return this Argument's value parsed as an int, or the fallback
+     */
+    public int asInt(int fallback) {
+        return isInt() ? (int) longValue : fallback;
+    }
+
+    /**
+     * Returns this Argument's value parsed as an int, if it is one.
+     *
+     * @return this Argument's value parsed as an int, or an empty optional
+     *         if it isn't an int
+     */
+    public OptionalInt tryInt() {
+        return isInt() ? OptionalInt.of((int) longValue) : OptionalInt.empty();
     }
 
     /**
@@ -76,7 +202,33 @@ public class Argument {
      * @throws NumberFormatException if the value isn't a double
      */
     public double asDouble() {
-        return Double.parseDouble(raw);
+        if (!isDouble()) {
+            // let the JDK throw its usual exception
+            return Double.parseDouble(get());
+        }
+        return doubleValue;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a double, or the given fallback
+     * if it isn't a double.
+     *
+     * @param fallback the value to return if the value isn't a double
+     * @return this Argument's value parsed as a double, or the fallback
+     */
+    public double asDouble(double fallback) {
+        return isDouble() ? doubleValue : fallback;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a double, if it is one.
+     *
+     * @return this Argument's value parsed as a double, or an empty optional
+     *         if it isn't a double
+     */
+    public OptionalDouble tryDouble() {
+        return isDouble() ? OptionalDouble.of(doubleValue)
+                : OptionalDouble.empty();
     }
 
     /**
@@ -86,7 +238,21 @@ public class Argument {
      * @throws NumberFormatException if the argument isn't a float
      */
     public float asFloat() {
-        return Float.parseFloat(raw);
+        if (!isFloat()) {
+            return Float.parseFloat(get());
+        }
+        return floatValue();
+    }
+
+    /**
+     * Returns this Argument's value parsed as a float, or the given fallback
+     * if it isn't a float.
+     *
+     * @param fallback the value to return if the value isn't a float
+     * @return this Argument's value parsed as a float, or the fallback
+     */
+    public float asFloat(float fallback) {
+        return isFloat() ? floatValue() : fallback;
     }
 
     /**
@@ -96,7 +262,31 @@ public class Argument {
      * @throws NumberFormatException if the value isn't a long
      */
     public long asLong() {
-        return Long.parseLong(raw);
+        if (!isLong()) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return longValue;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a long, or the given fallback
+     * if it isn't a long.
+     *
+     * @param fallback the value to return if the value isn't a long
+     * @return this Argument's value parsed as a long, or the fallback
+     */
+    public long asLong(long fallback) {
+        return isLong() ? longValue : fallback;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a long, if it is one.
+     *
+     * @return this Argument's value parsed as a long, or an empty optional
+     *         if it isn't a long
+     */
+    public OptionalLong tryLong() {
+        return isLong() ? OptionalLong.of(longValue) : OptionalLong.empty();
     }
 
     /**
@@ -106,16 +296,234 @@ public class Argument {
      * @throws NumberFormatException if the value isn't a short
      */
     public short asShort() {
-        return Short.parseShort(raw);
+        if (!isShort()) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return (short) longValue;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a short, or the given fallback
+     * if it isn't a short.
+     *
+     * @param fallback the value to return if the value isn't a short
+     * @return this Argument's value parsed as a short, or the fallback
+     */
+    public short asShort(short fallback) {
+        return isShort() ? (short) longValue : fallback;
     }
 
     /**
-     * Returns this Argument's value parsed as a boolean.
+     * Returns this Argument's value parsed as a long which may have a radix
+     * prefix - 0x for hexadecimal, 0o for octal or 0b for binary - and may
+     * have underscores between digits, as in Java source code. For example,
+     * {@code 0x1F}, {@code -0b1010} and {@code 1_000_000}.
+     *
+     * @return this Argument's value parsed as a long
+     * @throws NumberFormatException if the value isn't such a long
+     */
+    public long asLongRadix() {
+        long result = Numbers.parseRadix(chars, start, end, Long.MIN_VALUE);
+        if (result == Long.MIN_VALUE && !isLongRadix()) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return result;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a long as with {@link
+     * #asLongRadix()}, or the given fallback if it isn't such a long.
+     *
+     * @param fallback the value to return if the value isn't such a long
+     * @return this Argument's value parsed as a long, or the fallback
+     */
+    public long asLongRadix(long fallback) {
+        return Numbers.parseRadix(chars, start, end, fallback);
+    }
+
+    /**
+     * Checks whether this Argument's value can be parsed by {@link
+     * #asLongRadix()}.
+     *
+     * @return whether this Argument's value can be parsed by {@link
+     *         #asLongRadix()}
+     */
+    public boolean isLongRadix() {
+        // no value is equal to both fallbacks
+        return Numbers.parseRadix(chars, start, end, 0) != 0
+                || Numbers.parseRadix(chars, start, end, 1) != 1;
+    }
+
+    /**
+     * Returns this Argument's value parsed as an amount of bytes, which is a
+     * non-negative integer optionally followed by a binary unit - k, m, g, t,
+     * p or e, for multiples of 1024, in either case and optionally followed
+     * by b or ib. For example, {@code 512}, {@code 64k}, {@code 2G} and
+     * {@code 10MiB}.
+     *
+     * @return this Argument's value parsed as an amount of bytes
+     * @throws NumberFormatException if the value isn't an amount of bytes
+     */
+    public long asByteSize() {
+        long result = Numbers.parseByteSize(chars, start, end);
+        if (result == -1) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return result;
+    }
+
+    /**
+     * Returns this Argument's value parsed as an amount of bytes as with
+     * {@link #asByteSize()}, or the given fallback if it isn't one.
+     *
+     * @param fallback the value to return if the value isn't an amount of
+     *        bytes
+     * @return this Argument's value parsed as an amount of bytes, or the
+     *         fallback
+     */
+    public long asByteSize(long fallback) {
+        long result = Numbers.parseByteSize(chars, start, end);
+        return result == -1 ? fallback : result;
+    }
+
+    /**
+     * Checks whether this Argument's value can be parsed by {@link
+     * #asByteSize()}.
+     *
+     * @return whether this Argument's value is an amount of bytes
+     */
+    public boolean isByteSize() {
+        return Numbers.parseByteSize(chars, start, end) != -1;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a duration in nanoseconds. A
+     * duration is an optional sign followed by one or more numbers, each with
+     * a unit - ns, us, ms, s, m, h or d. The numbers may have fractional
+     * parts. For example, {@code 30s}, {@code 5m30s}, {@code 1.5h} and {@code
+     * 250ms}.
+     *
+     * @return this Argument's value parsed as a duration in nanoseconds
+     * @throws NumberFormatException if the value isn't a duration
+     */
+    public long asDurationNanos() {
+        long result = Numbers.parseDuration(chars, start, end);
+        if (result == Long.MIN_VALUE) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return result;
+    }
+
+    /**
+     * Returns this Argument's value parsed as a duration in nanoseconds as
+     * with {@link #asDurationNanos()}, or the given fallback if it isn't one.
+     *
+     * @param fallback the value to return if the value isn't a duration
+     * @return this Argument's value parsed as a duration in nanoseconds, or
+     *         the fallback
+     */
+    public long asDurationNanos(long fallback) {
+        long result = Numbers.parseDuration(chars, start, end);
+        return result == Long.MIN_VALUE ? fallback : result;
+    }
+
+    /**
+     * Checks whether this Argument's value can be parsed by {@link
+     * #asDurationNanos()}.
+     *
+     * @return whether this Argument's value is a duration
+     */
+    public boolean isDuration() {
+        return Numbers.parseDuration(chars, start, end) != Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the first bound of this Argument's value parsed as a range,
+     * which is two longs separated by {@code ..}, such as {@code 1..64} or
+     * {@code -5..5}. Both bounds are inclusive.
+     *
+     * @return the first bound of this Argument's value as a range
+     * @throws NumberFormatException if the value isn't a range
+     */
+    public long asRangeFrom() {
+        int separator = rangeSeparator();
+        if (separator < 0) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return Numbers.parseLong(chars, start, separator, Long.MIN_VALUE,
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the second bound of this Argument's value parsed as a range, as
+     * with {@link #asRangeFrom()}.
+     *
+     * @return the second bound of this Argument's value as a range
+     * @throws NumberFormatException if the value isn't a range
+     */
+    public long asRangeTo() {
+        int separator = rangeSeparator();
+        if (separator < 0) {
+            throw Numbers.forInput(chars, start, end);
+        }
+        return Numbers.parseLong(chars, separator + 2, end, Long.MIN_VALUE,
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Checks whether this Argument's value can be parsed as a range, as with
+     * {@link #asRangeFrom()}.
+     *
+     * @return whether this Argument's value can be parsed as a range
+     */
+    public boolean isRange() {
+        int separator = rangeSeparator();
+        return separator >= 0
+                && Numbers.isLong(chars, start, separator, Long.MIN_VALUE,
+                Long.MAX_VALUE)
+                && Numbers.isLong(chars, separator + 2, end, Long.MIN_VALUE,
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets a lazy view of the elements of this Argument's value separated by
+     * the given character, such as {@code a}, {@code b} and {@code c} for
+     * {@code a,b,c}. Unlike {@link String#split(String)}, empty elements are
+     * kept, including trailing ones, so {@code a,,b,} has four elements; an
+     * empty value has none. Elements are found as they are read and share
+     * this Argument's characters, so counting the elements or reading the
+     * first doesn't copy the value.
+     *
+     * @param separator the character separating elements
+     * @return an unmodifiable list of the elements
+     */
+    public List<Argument> split(char separator) {
+        return new SplitList(chars, start, end, separator);
+    }
+
+    /**
+     * Gets a cursor over the key/value pairs in this Argument's value, such as
+     * {@code k1=v1;k2=v2} with the separators {@code ;} and {@code =}.
+     *
+     * @param pairSeparator the character separating pairs
+     * @param valueSeparator the character separating each key from its value
+     * @return a cursor positioned before the first pair
+     */
+    public KeyValueCursor pairs(char pairSeparator, char valueSeparator) {
+        return new KeyValueCursor(chars, start, end, pairSeparator,
+                valueSeparator);
+    }
+
+    /**
+     * Returns this Argument's value parsed as a boolean, which is {@code true}
+     * if the value is "true" ignoring case and {@code false} otherwise, as
+     * with {@link Boolean#parseBoolean(String)}.
      *
      * @return this Argument's value parsed as a boolean
      */
-    public Boolean asBoolean() {
-        return Boolean.valueOf(raw);
+    public boolean asBoolean() {
+        return end - start == 4
+                && Chars.regionMatchesIgnoreCase(chars, start, "true", 0, 4);
     }
 
     /**
@@ -125,7 +533,103 @@ public class Argument {
      * @return this Argument's value parsed as a Character
      */
     public Character asChar() {
-        return raw.length() == 1 ? raw.charAt(0) : null;
+        return end - start == 1 ? chars.charAt(start) : null;
+    }
+
+    /**
+     * Returns this Argument's value as a char, or the given fallback if it
+     * isn't one character long.
+     *
+     * @param fallback the value to return if the value isn't a char
+     * @return this Argument's value as a char, or the fallback
+     */
+    public char asChar(char fallback) {
+        return end - start == 1 ? chars.charAt(start) : fallback;
+    }
+
+    /**
+     * Converts this Argument's value to the given type, using the {@link
+     * Converter} registered for it with {@link Converters}. For example, {@code
+     * as(int.class)} is the same as {@link #asInt()}, and {@code
+     * as(GameMode.class)} matches a constant of the GameMode enum ignoring
+     * case.
+     *
+     * @param type the class to convert to
+     * @param <T> the type to convert to
+     * @return this Argument's value converted to the type
+     * @throws IllegalArgumentException if there is no converter for the type
+     *         or the value can't be converted
+     */
+    public <T> T as(Class<T> type) {
+        return Converters.get(type).convert(this);
+    }
+
+    /**
+     * Gets the index of the literal in the given set which is equal to this
+     * Argument's value, ignoring case.
+     *
+     * @param literals the literals to match against
+     * @return the index of the matching literal, or -1 if there is none
+     */
+    public int indexIn(LiteralSet literals) {
+        return literals.indexOf(chars, start, end);
+    }
+
+    /**
+     * Checks whether this Argument's value is equal to any of the literals in
+     * the given set, ignoring case.
+     *
+     * @param literals the literals to match against
+     * @return whether there is a matching literal
+     */
+    public boolean isIn(LiteralSet literals) {
+        return literals.indexOf(chars, start, end) != -1;
+    }
+
+    /**
+     * Returns the constant of the given enum whose name is equal to this
+     * Argument's value, ignoring case. {@code null} is returned if there is
+     * no such constant.
+     *
+     * @param type the class of the enum
+     * @param <E> the type of the enum
+     * @return the matching constant, or {@code null} if there is none
+     * @throws IllegalArgumentException if any of the enum's constants have
+     *         names which are equal ignoring case
+     */
+    public <E extends Enum<E>> E asEnum(Class<E> type) {
+        return asEnum(type, null);
+    }
+
+    /**
+     * Returns the constant of the given enum whose name is equal to this
+     * Argument's value, ignoring case, or the given fallback if there is no
+     * such constant.
+     *
+     * @param type the class of the enum
+     * @param fallback the value to return if there is no matching constant
+     * @param <E> the type of the enum
+     * @return the matching constant, or the fallback
+     * @throws IllegalArgumentException if any of the enum's constants have
+     *         names which are equal ignoring case
+     */
+    public <E extends Enum<E>> E asEnum(Class<E> type, E fallback) {
+        LiteralSet names = LiteralSet.forEnum(type);
+        int index = names.indexOf(chars, start, end);
+        return index == -1 ? fallback : type.cast(names.constant(index));
+    }
+
+    /**
+     * Checks whether this Argument's value is the name of one of the
+     * constants of the given enum, ignoring case.
+     *
+     * @param type the class of the enum
+     * @return whether there is a matching constant
+     * @throws IllegalArgumentException if any of the enum's constants have
+     *         names which are equal ignoring case
+     */
+    public boolean isEnum(Class<? extends Enum<?>> type) {
+        return LiteralSet.forEnum(type).indexOf(chars, start, end) != -1;
     }
 
     /**
@@ -134,12 +638,8 @@ public class Argument {
      * @return whether this Argument's value can be parsed as an integer
      */
     public boolean isInt() {
-        try {
-            asInt();
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return (types() & LONG) != 0 && longValue >= Integer.MIN_VALUE
+                && longValue <= Integer.MAX_VALUE;
     }
 
     /**
@@ -148,12 +648,7 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a double
      */
     public boolean isDouble() {
-        try {
-            asDouble();
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return (types() & DOUBLE) != 0;
     }
 
     /**
@@ -162,12 +657,8 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a float
      */
     public boolean isFloat() {
-        try {
-            asFloat();
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        // floats and doubles have the same syntax
+        return (types() & DOUBLE) != 0;
     }
 
     /**
@@ -176,12 +667,7 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a long
      */
     public boolean isLong() {
-        try {
-            asLong();
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return (types() & LONG) != 0;
     }
 
     /**
@@ -190,12 +676,8 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a short
      */
     public boolean isShort() {
-        try {
-            asShort();
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return (types() & LONG) != 0 && longValue >= Short.MIN_VALUE
+                && longValue <= Short.MAX_VALUE;
     }
 
     /**
@@ -204,7 +686,7 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a boolean
      */
     public boolean isBoolean() {
-        return raw.equals("true") || raw.equals("false");
+        return contentEquals("true") || contentEquals("false");
     }
 
     /**
@@ -213,15 +695,136 @@ public class Argument {
      * @return whether this Argument's value can be parsed as a char
      */
     public boolean isChar() {
-        return raw.length() == 1;
+        return end - start == 1;
+    }
+
+    /**
+     * Gets the types this Argument's value can be parsed as, parsing it the
+     * first time this is called and keeping the parsed values so that later
+     * checks and conversions don't parse it again.
+     *
+     * @return a combination of {@link #CLASSIFIED}, {@link #LONG}, {@link
+     *         #DOUBLE} and {@link #FLOAT}
+     */
+    private int types() {
+        int result = types;
+        if (result == 0) {
+            result = CLASSIFIED | classify();
+            // written last so the values are visible to any thread which sees
+            // the types
+            types = (byte) result;
+        }
+        return result;
+    }
+
+    /**
+     * Classifies this Argument's value, keeping the parsed value for each
+     * type it can be parsed as. Integers are accepted as by {@link
+     * Long#parseLong(String)}, which allows non-ASCII digits, and are parsed
+     * and checked in the same scan. Anything else is parsed by {@link
+     * Numbers#parseDouble(CharSequence, int, int, boolean, double)}, which
+     * also checks its input as it parses, so no range is scanned twice to
+     * find out whether it was valid.
+     *
+     * @return a combination of {@link #LONG} and {@link #DOUBLE}
+     */
+    private int classify() {
+        if (start == end) {
+            return 0;
+        }
+        int i = start;
+        char first = chars.charAt(i);
+        boolean negative = first == '-';
+        if ((negative || first == '+') && ++i == end) {
+            // a sign on its own
+            return 0;
+        }
+
+        // accumulate negatively, as in Numbers.parseLong
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long integer = 0;
+        boolean inRange = true;
+        boolean ascii = true;
+        for (; i < end; i++) {
+            char ch = chars.charAt(i);
+            int digit = Numbers.digit(ch);
+            if (digit < 0) {
+                break;
+            }
+            ascii &= ch < 0x80;
+            if (integer < multmin || integer * 10 < limit + digit) {
+                inRange = false;
+            } else {
+                integer = integer * 10 - digit;
+            }
+        }
+        if (i == end && inRange) {
+            longValue = negative ? integer : -integer;
+            if (!ascii) {
+                // doubles may not have non-ASCII digits
+                return LONG;
+            }
+            // an integer's double value is the correctly rounded long, except
+            // for -0
+            doubleValue = integer != 0 || !negative ? longValue : -0.0;
+            return LONG | DOUBLE;
+        }
+        if (!ascii) {
+            return 0;
+        }
+        double decimal = Numbers.parseDouble(chars, start, end, false,
+                Double.NaN);
+        if (Double.isNaN(decimal) && !Numbers.isNaN(chars, start, end)) {
+            return 0;
+        }
+        doubleValue = decimal;
+        return DOUBLE;
+    }
+
+    /**
+     * Gets this Argument's value as a float, which must be known to be valid,
+     * parsing it the first time this is called. It can't be found from the
+     * double value as rounding twice could give a different float.
+     *
+     * @return this Argument's value as a float
+     */
+    private float floatValue() {
+        int current = types;
+        if ((current & FLOAT) == 0) {
+            floatValue = (current & LONG) != 0 && longValue != 0
+                    ? (float) longValue
+                    : (float) Numbers.parseDouble(chars, start, end, true, 0);
+            types = (byte) (current | FLOAT);
+        }
+        return floatValue;
     }
 
     /**
-     * @return {@code raw.intern()}
-     * @see {@link String#intern()}
+     * Gets the raw string this Argument wraps, deduplicated by the {@link
+     * Interner#getDefault() default Interner} so that equal values share a
+     * String. The JVM's global string table isn't used.
+     *
+     * @return this Argument's raw String value, as held by the default
+     *         Interner
      */
     public String getIntern() {
-        return raw.intern();
+        return getIntern(Interner.getDefault());
+    }
+
+    /**
+     * Gets the raw string this Argument wraps, deduplicated by the given
+     * {@link Interner}, such as an Interner for a batch of parsing.
+     *
+     * @param interner the Interner to use
+     * @return this Argument's raw String value, as held by the Interner
+     */
+    public String getIntern(Interner interner) {
+        String result = interner.intern(chars, start, end);
+        if (raw == null) {
+            raw = result;
+        }
+        return result;
     }
 
     /**
@@ -230,42 +833,159 @@ public class Argument {
      * @see {@link String#concat(String)}
      */
     public Argument concat(String string) {
-        return new Argument(raw.concat(string));
+        return new Argument(get().concat(string));
     }
 
     /**
      * @param startIndex the start of the substring
      * @param endIndex the end of the substring
-     * @return {@code new Argument(raw.substring(startIndex, endIndex))}
+     * @return an Argument for {@code raw.substring(startIndex, endIndex)},
+     *         sharing this Argument's characters
      * @see {@link String#substring(int, int)}
      */
     public Argument substring(int startIndex, int endIndex) {
-        return new Argument(raw.substring(startIndex, endIndex));
+        return subSequence(startIndex, endIndex);
     }
 
     /**
      * @param startIndex the start of the substring
-     * @return {@code new Argument(raw.substring(startIndex))}
+     * @return an Argument for {@code raw.substring(startIndex)}, sharing this
+     *         Argument's characters
      * @see {@link String#substring(int)}
      */
     public Argument substring(int startIndex) {
-        return new Argument(raw.substring(startIndex));
+        return subSequence(startIndex, end - start);
     }
 
     /**
-     * @return {@code new Argument(raw.toLowerCase())}
-     * @see {@link String#toLowerCase()}
+     * Converts this Argument's value to lower case using the rules of {@link
+     * Locale#ROOT}, so the result doesn't depend on the default locale. This
+     * Argument is returned if its value is already lower case.
+     *
+     * @return an Argument for {@code raw.toLowerCase(Locale.ROOT)}
+     * @see {@link String#toLowerCase(Locale)}
      */
     public Argument toLowerCase() {
-        return new Argument(raw.toLowerCase());
+        return changeCase(false);
     }
 
     /**
-     * @return {@code new Argument(raw.toUpperCase())}
-     * @see {@link String#toUpperCase()}
+     * Converts this Argument's value to upper case using the rules of {@link
+     * Locale#ROOT}, so the result doesn't depend on the default locale. This
+     * Argument is returned if its value is already upper case.
+     *
+     * @return an Argument for {@code raw.toUpperCase(Locale.ROOT)}
+     * @see {@link String#toUpperCase(Locale)}
      */
     public Argument toUpperCase() {
-        return new Argument(raw.toUpperCase());
+        return changeCase(true);
+    }
+
+    /**
+     * Checks whether this Argument's value is equal to the given characters,
+     * ignoring case as {@link String#equalsIgnoreCase(String)} does, without
+     * creating any Strings.
+     *
+     * @param other the characters to compare to
+     * @return whether this Argument's value is equal to the characters
+     *         ignoring case
+     */
+    public boolean equalsIgnoreCase(CharSequence other) {
+        int length = end - start;
+        return other != null && other.length() == length
+                && Chars.regionMatchesIgnoreCase(chars, start, other, 0,
+                length);
+    }
+
+    /**
+     * Checks whether this Argument's value starts with the given characters,
+     * ignoring case.
+     *
+     * @param prefix the characters to look for
+     * @return whether this Argument's value starts with the characters
+     *         ignoring case
+     */
+    public boolean startsWithIgnoreCase(CharSequence prefix) {
+        int length = prefix.length();
+        return length <= end - start && Chars.regionMatchesIgnoreCase(chars,
+                start, prefix, 0, length);
+    }
+
+    /**
+     * Checks whether a region of this Argument's value is equal to a region
+     * of the given characters, as {@link String#regionMatches(boolean, int,
+     * String, int, int)} does.
+     *
+     * @param ignoreCase whether to ignore case
+     * @param offset the start of the region in this Argument's value
+     * @param other the other characters
+     * @param otherOffset the start of the region in the other characters
+     * @param length the length of the regions
+     * @return whether the regions are equal
+     */
+    public boolean regionMatches(boolean ignoreCase, int offset,
+            CharSequence other, int otherOffset, int length) {
+        if (offset < 0 || otherOffset < 0
+                || offset > (long) end - start - length
+                || otherOffset > (long) other.length() - length) {
+            return false;
+        }
+        if (ignoreCase) {
+            return Chars.regionMatchesIgnoreCase(chars, start + offset, other,
+                    otherOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars.charAt(start + offset + i)
+                    != other.charAt(otherOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether this Argument's value is exactly the given characters,
+     * without creating any Strings.
+     *
+     * @param other the characters to compare to
+     * @return whether this Argument's value is equal to the characters
+     */
+    public boolean contentEquals(CharSequence other) {
+        return other.length() == end - start
+                && regionMatches(false, 0, other, 0, end - start);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return chars.charAt(start + index);
+    }
+
+    /**
+     * Gets an Argument for the given range of this Argument's value, which
+     * shares this Argument's characters rather than copying them.
+     *
+     * @param startIndex the start of the range, inclusive
+     * @param endIndex the end of the range, exclusive
+     * @return an Argument for the range
+     */
+    @Override
+    public Argument subSequence(int startIndex, int endIndex) {
+        if (startIndex < 0 || endIndex > end - start || startIndex > endIndex) {
+            throw new StringIndexOutOfBoundsException("begin " + startIndex
+                    + ", end " + endIndex + ", length " + (end - start));
+        }
+        if (startIndex == 0 && endIndex == end - start) {
+            return this;
+        }
+        return new Argument(chars, start + startIndex, start + endIndex);
     }
 
     /**
@@ -273,22 +993,90 @@ public class Argument {
      * @see {@link String#toCharArray()}
      */
     public char[] toCharArray() {
-        return raw.toCharArray();
+        return get().toCharArray();
+    }
+
+    /**
+     * Finds the {@code ..} separating the bounds of a range in this
+     * Argument's value.
+     *
+     * @return the index of the separator in {@link #chars}, or -1 if there is
+     *         none
+     */
+    private int rangeSeparator() {
+        // the first bound can't be empty, so start looking after it
+        for (int i = start + 1; i < end - 1; i++) {
+            if (chars.charAt(i) == '.' && chars.charAt(i + 1) == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts this Argument's value to lower or upper case using the rules of
+     * {@link Locale#ROOT}, with a fast path for ASCII values.
+     *
+     * @param upper whether to convert to upper case rather than lower case
+     * @return the converted Argument, or this Argument if nothing changed
+     */
+    private Argument changeCase(boolean upper) {
+        char from = upper ? 'a' : 'A';
+        char[] result = null;
+        for (int i = start; i < end; i++) {
+            char ch = chars.charAt(i);
+            if (ch >= 0x80) {
+                String value = get();
+                String converted = upper ? value.toUpperCase(Locale.ROOT)
+                        : value.toLowerCase(Locale.ROOT);
+                return converted.equals(value) ? this
+                        : new Argument(converted);
+            }
+            if (ch >= from && ch <= from + 25) {
+                if (result == null) {
+                    result = new char[end - start];
+                    for (int j = start; j < i; j++) {
+                        result[j - start] = chars.charAt(j);
+                    }
+                }
+                ch ^= 0x20;
+            }
+            if (result != null) {
+                result[i - start] = ch;
+            }
+        }
+        return result == null ? this : new Argument(new String(result));
     }
 
     @Override
     public boolean equals(Object other) {
-        return other instanceof Argument && ((Argument) other).raw
-                .equals(raw);
+        if (!(other instanceof Argument)) {
+            return false;
+        }
+        Argument arg = (Argument) other;
+        if (arg.end - arg.start != end - start) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (arg.chars.charAt(arg.start + i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return raw.hashCode();
+        // same as the hash code of the raw string
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
-        return raw.intern();
+        return get();
     }
 }
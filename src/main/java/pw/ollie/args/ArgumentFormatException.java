@@ -0,0 +1,60 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * Thrown when one of a range of arguments being converted to numbers, such as
+ * by {@link Arguments#toIntArray(int, int)}, isn't a valid number. Provides
+ * the index of the first argument which couldn't be converted.
+ */
+public class ArgumentFormatException extends NumberFormatException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The index of the argument which couldn't be converted.
+     */
+    private final int index;
+
+    /**
+     * Constructs a new ArgumentFormatException for the argument at the given
+     * index with the given value.
+     *
+     * @param index the index of the argument which couldn't be converted
+     * @param value the value of the argument
+     */
+    public ArgumentFormatException(int index, String value) {
+        super("For input string: \"" + value + "\" at index " + index);
+        this.index = index;
+    }
+
+    /**
+     * Gets the index of the argument which couldn't be converted, excluding
+     * flag args.
+     *
+     * @return the index of the argument which couldn't be converted
+     */
+    public int getIndex() {
+        return index;
+    }
+}
@@ -27,38 +27,219 @@ import pw.ollie.args.params.Parameter;
 import pw.ollie.args.params.Params;
 import pw.ollie.args.params.ParamsBase;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A simple and easy to use method of parsing arguments into different primitive
  * types and parsing flags.
+ *
+ * Parsing only classifies the raw tokens into a handful of primitive tables,
+ * so the amount of objects allocated by the constructor does not depend on the
+ * amount of arguments. {@link Argument} and {@link Flag} objects are created
+ * from these tables the first time they are requested and cached from then on.
  */
 public class Arguments {
     /**
-     * A {@link List} of all of the arguments in {@link Argument} form.
+     * Token kind for a normal argument, which is not part of a flag.
+     */
+    private static final byte POSITIONAL = 0;
+    /**
+     * Token kind for a flag prefixed with - which takes the following token
+     * as its value.
+     */
+    private static final byte VALUE_FLAG = 1;
+    /**
+     * Token kind for the value following a {@link #VALUE_FLAG}.
+     */
+    private static final byte FLAG_VALUE = 2;
+    /**
+     * Token kind for a flag with no value - either prefixed with -- or a flag
+     * prefixed with - which is the last token.
+     */
+    private static final byte NON_VALUE_FLAG = 3;
+    /**
+     * Token kind for the token -- with {@link FlagSyntax#GNU}, which ends the
+     * flags.
+     */
+    private static final byte TERMINATOR = 4;
+    /**
+     * An empty array of arguments.
+     */
+    private static final String[] NO_ARGS = new String[0];
+    /**
+     * The amount of arguments above which conversions to arrays are split
+     * across multiple threads.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * The line these arguments were parsed from by {@link
+     * #parse(CharSequence)} or {@link #parse(ByteBuffer)}, or {@code null} if
+     * they were given pre-split.
+     */
+    private CharSequence line;
+    /**
+     * The raw String[] of arguments for this Arguments object. For arguments
+     * parsed from a {@link #line}, an element is {@code null} until the token
+     * is first requested as a String, unless the token had to be unquoted or
+     * unescaped, and the array may be longer than {@link #tokenCount}.
+     */
+    private String[] raw;
+    /**
+     * The array used as {@link #raw} for arguments parsed from a line, kept so
+     * it can be reused when these Arguments are reset.
+     */
+    private String[] lineTokens;
+    /**
+     * The amount of tokens in these arguments.
+     */
+    private int tokenCount;
+    /**
+     * The start (inclusive) and end (exclusive) offset in {@link #line} of the
+     * source text of each token, stored at {@code 2 * token} and {@code 2 *
+     * token + 1}. Only used if these arguments were parsed from a line.
+     */
+    private int[] spans;
+    /**
+     * The kind of each token in {@link #raw}, one of {@link #POSITIONAL},
+     * {@link #VALUE_FLAG}, {@link #FLAG_VALUE}, {@link #NON_VALUE_FLAG} or
+     * {@link #TERMINATOR}. A token containing a cluster of flags is a {@link
+     * #VALUE_FLAG} if any of them has a value.
+     */
+    private byte[] kinds;
+    /**
+     * The token index of each argument which is not a flag argument, in order.
+     */
+    private int[] positionals;
+    /**
+     * The amount of used entries in {@link #positionals}.
+     */
+    private int positionalCount;
+    /**
+     * The token index of each flag, in order. Several flags may share a token
+     * if they were given as a cluster.
+     */
+    private int[] flagTokens;
+    /**
+     * The offset of the name within the token for each flag in {@link
+     * #flagTokens} - 1 for flags prefixed with - and 2 for flags prefixed
+     * with --.
+     */
+    private int[] flagNameStarts;
+    /**
+     * The length of the name of each flag in {@link #flagTokens}.
+     */
+    private int[] flagNameLengths;
+    /**
+     * The offset within the token of the value given in the same token as
+     * each flag in {@link #flagTokens}, as in --name=value, or -1 if the flag
+     * has no such value.
+     */
+    private int[] flagValueStarts;
+    /**
+     * The amount of used entries in {@link #flagTokens}.
+     */
+    private int flagCount;
+    /**
+     * The amount of values of each flag in {@link #flagTokens}, including any
+     * value in the flag's own token. Values which aren't in the flag's token
+     * are the tokens directly following it.
+     */
+    private int[] flagValueCounts;
+    /**
+     * The index in {@link #flagTokens} of a flag which will take the next
+     * token as a value, or -1 if there is no such flag. Only used while tokens
+     * are being added.
+     */
+    private int pendingFlag = -1;
+    /**
+     * The amount of values {@link #pendingFlag} is still to take. Only used
+     * while tokens are being added.
+     */
+    private int pendingValues;
+    /**
+     * Whether the token -- has been found with {@link FlagSyntax#GNU}, so all
+     * following tokens are normal arguments. Only used while tokens are being
+     * added.
+     */
+    private boolean terminated;
+    /**
+     * The syntax used to recognise flags.
+     */
+    private FlagSyntax syntax = FlagSyntax.SIMPLE;
+    /**
+     * The case-insensitive hash of the name of each flag in {@link
+     * #flagTokens}, as calculated by {@link Chars#foldedHash}.
+     */
+    private int[] flagHashes;
+    /**
+     * An open-addressed hash table of flags, keyed by the case-insensitive
+     * hash of their names. Only the first occurrence of each flag is in the
+     * table, so lookups don't get slower as a flag is repeated. Each slot
+     * contains the index of a flag in {@link #flagTokens} plus one, or zero if
+     * the slot is empty.
+     */
+    private int[] flagTable;
+    /**
+     * The index of the first occurrence of each flag in {@link #flagTokens}.
+     * Occurrences are the same flag if they have the same name, ignoring case,
+     * and either both or neither have values.
+     */
+    private int[] flagFirsts;
+    /**
+     * The offset in {@link #flagOrder} of the occurrences of each flag, for
+     * the first occurrence of each flag.
+     */
+    private int[] flagOrderStarts;
+    /**
+     * The amount of occurrences of each flag, for the first occurrence of each
+     * flag.
+     */
+    private int[] flagOccurrences;
+    /**
+     * The indices of all flags in {@link #flagTokens}, grouped so that the
+     * occurrences of each flag are together and in order.
+     */
+    private int[] flagOrder;
+    /**
+     * The {@link Argument} for each token, created when first requested. The
+     * array itself is only allocated once the first Argument is requested.
      */
-    private final List<Argument> all;
+    private Argument[] argumentCache;
     /**
-     * A {@link List} of arguments, not including flag arguments, in {@link
-     * Argument} form.
+     * The {@link Flag} for each value flag in {@link #flagTokens}, created
+     * when first requested.
      */
-    private final List<Argument> arguments;
+    private Flag[] flagCache;
     /**
-     * A {@link List} of all flags prefixed with -
+     * The {@link Tokenizer} used to parse lines, kept so it can be reused.
      */
-    private final Set<Flag> flags;
+    private Tokenizer tokenizer;
     /**
-     * A {@link List} of all flags prefixed with --
+     * The view of the last {@link ByteBuffer} parsed, kept so it can be
+     * reused.
      */
-    private final Set<Argument> doubleFlags;
+    private ByteChars byteChars;
     /**
-     * The raw String[] of arguments for this Arguments object.
+     * Where these Arguments were released to an {@link ArgumentsPool} in debug
+     * mode, or {@code null} if they are in use.
      */
-    private final String[] raw;
+    private Throwable releasedAt;
 
     /**
      * The {@link Params} object for this Arguments object. This contains a
@@ -66,6 +247,18 @@ public class Arguments {
      * registered parameter for the command.
      */
     private Params parameters;
+    /**
+     * The {@link Params} object these Arguments had before they were last
+     * reset, which may be reused by {@link ParamsBase#createParams(Arguments,
+     * Params)}.
+     */
+    private Params recycledParams;
+    /**
+     * The {@link ParamsBase} which declares which flags take values while
+     * tokens are being classified, or {@code null} to classify all flags in
+     * the default way.
+     */
+    private ParamsBase schema;
 
     /**
      * Creates a new Arguments object and immediately parses the given String[]
@@ -74,46 +267,7 @@ public class Arguments {
      * @param parse the raw argument {@link String}s to parse
      */
     public Arguments(String... parse) {
-        this.all = new ArrayList<>(parse.length);
-        this.arguments = new ArrayList<>(parse.length);
-        this.flags = new HashSet<>();
-        this.doubleFlags = new HashSet<>();
-        this.raw = parse;
-
-        for (int i = 0; i < raw.length; i++) {
-            String element = raw[i];
-            // construct a single Argument for the arg
-            Argument arg = new Argument(element);
-
-            // add to the list of all arguments
-            all.add(arg);
-
-            if (element.charAt(0) != '-' || element.length() < 2) {
-                // normal argument, or flag with no name (e.g, "-")
-                arguments.add(arg);
-                continue;
-            }
-
-            if (element.charAt(1) == '-') {
-                if (element.length() < 3) {
-                    // arg is "--" - no name given for flag
-                    arguments.add(arg);
-                } else {
-                    // double flag (--, no value)
-                    doubleFlags.add(arg.substring(2));
-                }
-                continue;
-            }
-
-            if (i == raw.length - 1) {
-                // single flag but no value given (this is the last arg) so treat as a non-value flag
-                doubleFlags.add(arg.substring(1));
-                continue;
-            }
-
-            // single flag (-, value)
-            flags.add(new Flag(element.substring(1), new Argument(raw[++i])));
-        }
+        split(parse);
     }
 
     /**
@@ -128,10 +282,301 @@ public class Arguments {
      */
     // should probably be the other way around but i hate no varargs
     public Arguments(ParamsBase paramsBase, String... parse) {
-        this(parse);
+        this.schema = paramsBase;
+        split(parse);
         this.withParams(paramsBase.createParams(this));
     }
 
+    /**
+     * Parses the given line into Arguments, splitting it into tokens and
+     * classifying flags in a single pass.
+     *
+     * Tokens are separated by any amount of ASCII whitespace, such as spaces
+     * and tabs; other whitespace, such as a non-breaking space, is part of a
+     * token. A token starting with
+     * a double or single quote extends to the matching closing quote, so
+     * {@code -msg "hello world"} gives a flag with the value {@code hello
+     * world}; a quote which is never closed extends to the end of the line.
+     * Quotes which don't start a token are taken literally, so {@code don't}
+     * is a single token.
+     * Outside of quotes and within double quotes, a backslash causes the
+     * following character to be taken literally.
+     *
+     * The offsets of each token within the line are recorded and can be
+     * retrieved through {@link #getStartOffset(int)} and {@link
+     * #getEndOffset(int)}.
+     *
+     * @param line the line to parse
+     * @return the parsed Arguments
+     */
+    public static Arguments parse(CharSequence line) {
+        return new Arguments(NO_ARGS).resetLine(line);
+    }
+
+    /**
+     * Parses the given line into Arguments as with {@link
+     * #parse(CharSequence)}, and then creates a {@link Params} object by
+     * calling {@link ParamsBase#createParams(Arguments)}.
+     *
+     * Flags declared by the given {@link ParamsBase} take the amount of values
+     * given by {@link ParamsBase#getFlagArity(CharSequence, int, int)} as the
+     * line is tokenized, so a declared flag which takes no value never takes
+     * the following token as its value, and a flag prefixed with -- may take
+     * values.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @param line the line to parse
+     * @return the parsed Arguments
+     */
+    public static Arguments parse(ParamsBase paramsBase, CharSequence line) {
+        return new Arguments(NO_ARGS).resetLine(paramsBase, line);
+    }
+
+    /**
+     * Parses the UTF-8 text between the position and the limit of the given
+     * buffer into Arguments, in the same way as {@link #parse(CharSequence)}.
+     * The buffer may be a heap or direct buffer and its position is not
+     * changed.
+     *
+     * The buffer is tokenized in place: tokens which only contain ASCII are
+     * kept as ranges of the buffer and are not decoded into Strings until
+     * they are requested as Strings, while flag lookups and integer
+     * conversions work on the bytes directly. The contents of the buffer must
+     * therefore not be modified while the Arguments are in use. The offsets
+     * returned by {@link #getStartOffset(int)} and {@link #getEndOffset(int)}
+     * are byte offsets from the position of the buffer.
+     *
+     * @param buffer the buffer containing the line to parse
+     * @return the parsed Arguments
+     */
+    public static Arguments parse(ByteBuffer buffer) {
+        return new Arguments(NO_ARGS).resetLine(buffer);
+    }
+
+    /**
+     * Parses the given buffer into Arguments as with {@link
+     * #parse(ByteBuffer)}, and then creates a {@link Params} object by calling
+     * {@link ParamsBase#createParams(Arguments)}. Declared flags take values
+     * as described in {@link #parse(ParamsBase, CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @param buffer the buffer containing the line to parse
+     * @return the parsed Arguments
+     */
+    public static Arguments parse(ParamsBase paramsBase, ByteBuffer buffer) {
+        return new Arguments(NO_ARGS).resetLine(paramsBase, buffer);
+    }
+
+    /**
+     * Parses only as much of the given line as is needed to find its first
+     * positional arguments, for example to pick a handler for a command from
+     * the command and subcommand names. Flags are skipped exactly as {@link
+     * #parse(CharSequence)} would skip them, and the rest of the line is not
+     * scanned until {@link Peek#resume()} is called.
+     *
+     * @param count the amount of positional arguments to find
+     * @param line the line to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(int count, CharSequence line) {
+        return peek(null, count, line);
+    }
+
+    /**
+     * Parses only as much of the given buffer as is needed to find its first
+     * positional arguments, in the same way as {@link #peek(int,
+     * CharSequence)}.
+     *
+     * @param count the amount of positional arguments to find
+     * @param buffer the buffer containing the line to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(int count, ByteBuffer buffer) {
+        return peek(null, count, buffer);
+    }
+
+    /**
+     * Classifies only as many of the given arguments as are needed to find
+     * the first positional arguments, in the same way as {@link #peek(int,
+     * CharSequence)}.
+     *
+     * @param count the amount of positional arguments to find
+     * @param parse the raw argument {@link String}s to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(int count, String... parse) {
+        return peek(null, count, parse);
+    }
+
+    /**
+     * Parses only as much of the given line as is needed to find its first
+     * positional arguments, as with {@link #peek(int, CharSequence)}, while
+     * declared flags take values as described in {@link #parse(ParamsBase,
+     * CharSequence)}. Params can then be created with {@link
+     * Peek#resume(ParamsBase)}.
+     *
+     * @param paramsBase the {@link ParamsBase} declaring the flags
+     * @param count the amount of positional arguments to find
+     * @param line the line to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(ParamsBase paramsBase, int count,
+            CharSequence line) {
+        Arguments arguments = new Arguments(NO_ARGS);
+        arguments.schema = paramsBase;
+        arguments.startTokenizing(line.toString());
+        return new Peek(arguments, count);
+    }
+
+    /**
+     * Parses only as much of the given buffer as is needed to find its first
+     * positional arguments, in the same way as {@link #peek(ParamsBase, int,
+     * CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} declaring the flags
+     * @param count the amount of positional arguments to find
+     * @param buffer the buffer containing the line to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(ParamsBase paramsBase, int count,
+            ByteBuffer buffer) {
+        Arguments arguments = new Arguments(NO_ARGS);
+        arguments.schema = paramsBase;
+        arguments.byteChars = new ByteChars(buffer);
+        arguments.startTokenizing(arguments.byteChars);
+        return new Peek(arguments, count);
+    }
+
+    /**
+     * Classifies only as many of the given arguments as are needed to find
+     * the first positional arguments, in the same way as {@link
+     * #peek(ParamsBase, int, CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} declaring the flags
+     * @param count the amount of positional arguments to find
+     * @param parse the raw argument {@link String}s to parse
+     * @return a {@link Peek} at the first positional arguments
+     */
+    public static Peek peek(ParamsBase paramsBase, int count,
+            String... parse) {
+        Arguments arguments = new Arguments(NO_ARGS);
+        arguments.schema = paramsBase;
+        arguments.begin(null, parse.length);
+        arguments.raw = parse;
+        return new Peek(arguments, count);
+    }
+
+    /**
+     * Resets these Arguments to the result of parsing the given String[] of
+     * arguments, as if they had been newly created with {@link
+     * #Arguments(String...)}. The tables used for parsing are reused, so
+     * resetting Arguments which have already been used for input of a
+     * similar size does not allocate.
+     *
+     * Any {@link Params} are removed, and {@link Argument} and {@link Flag}
+     * objects obtained before resetting must not be used afterwards.
+     *
+     * @param parse the raw argument {@link String}s to parse
+     * @return this Arguments object
+     * @see ArgumentsPool
+     */
+    public Arguments reset(String... parse) {
+        ensureLive();
+        schema = null;
+        split(parse);
+        return this;
+    }
+
+    /**
+     * Resets these Arguments to the result of parsing the given line, as if
+     * they had been created with {@link #parse(CharSequence)}. See {@link
+     * #reset(String...)}, which takes a single String as one pre-split
+     * argument in the same way as {@link #Arguments(String...)}.
+     *
+     * @param line the line to parse
+     * @return this Arguments object
+     */
+    public Arguments resetLine(CharSequence line) {
+        ensureLive();
+        schema = null;
+        tokenize(line.toString());
+        return this;
+    }
+
+    /**
+     * Resets these Arguments to the result of parsing the given buffer, as if
+     * they had been created with {@link #parse(ByteBuffer)}. See {@link
+     * #reset(String...)}.
+     *
+     * @param buffer the buffer containing the line to parse
+     * @return this Arguments object
+     */
+    public Arguments resetLine(ByteBuffer buffer) {
+        ensureLive();
+        schema = null;
+        tokenize(byteChars(buffer));
+        return this;
+    }
+
+    /**
+     * Resets these Arguments as with {@link #reset(String...)}, then creates
+     * {@link Params} for them using the given {@link ParamsBase}, reusing the
+     * Params these Arguments had before being reset if possible. Declared
+     * flags take values as described in {@link #parse(ParamsBase,
+     * CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @param parse the raw argument {@link String}s to parse
+     * @return this Arguments object
+     */
+    public Arguments reset(ParamsBase paramsBase, String... parse) {
+        ensureLive();
+        schema = paramsBase;
+        split(parse);
+        return withRecycledParams(paramsBase);
+    }
+
+    /**
+     * Resets these Arguments as with {@link #resetLine(CharSequence)}, then
+     * creates {@link Params} for them using the given {@link ParamsBase},
+     * reusing the Params these Arguments had before being reset if possible.
+     * Declared flags take values as described in {@link #parse(ParamsBase,
+     * CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @param line the line to parse
+     * @return this Arguments object
+     */
+    public Arguments resetLine(ParamsBase paramsBase, CharSequence line) {
+        ensureLive();
+        schema = paramsBase;
+        tokenize(line.toString());
+        return withRecycledParams(paramsBase);
+    }
+
+    /**
+     * Resets these Arguments as with {@link #resetLine(ByteBuffer)}, then
+     * creates {@link Params} for them using the given {@link ParamsBase},
+     * reusing the Params these Arguments had before being reset if possible.
+     * Declared flags take values as described in {@link #parse(ParamsBase,
+     * CharSequence)}.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @param buffer the buffer containing the line to parse
+     * @return this Arguments object
+     */
+    public Arguments resetLine(ParamsBase paramsBase, ByteBuffer buffer) {
+        ensureLive();
+        schema = paramsBase;
+        tokenize(byteChars(buffer));
+        return withRecycledParams(paramsBase);
+    }
+
     /**
      * Gets the {@link Argument} for the argument at the given index.
      *
@@ -150,11 +595,7 @@ public class Arguments {
      * @return a Argument object for the argument at the given index
      */
     public Argument get(int index, boolean includeFlagArgs) {
-        if (includeFlagArgs) {
-            return all.get(index);
-        } else {
-            return arguments.get(index);
-        }
+        return argument(tokenIndex(index, includeFlagArgs));
     }
 
     /**
@@ -175,7 +616,75 @@ public class Arguments {
      * @return a raw String for the argument at the given index
      */
     public String getString(int index, boolean includeFlagArgs) {
-        return get(index, includeFlagArgs).get();
+        return token(tokenIndex(index, includeFlagArgs));
+    }
+
+    /**
+     * Gets the line these Arguments were parsed from, if they were created by
+     * {@link #parse(CharSequence)}.
+     *
+     * @return the parsed line, or {@code null} if these Arguments were
+     *         created from pre-split arguments or a {@link ByteBuffer}
+     */
+    public String getLine() {
+        ensureLive();
+        return line instanceof String ? (String) line : null;
+    }
+
+    /**
+     * Gets the offset within the parsed line at which the source text of the
+     * argument at the given index starts, including any quotes.
+     *
+     * @param index the index of the argument
+     * @return the start offset of the argument, or -1 if these Arguments were
+     *         not parsed from a line
+     * @see #getLine()
+     */
+    public int getStartOffset(int index) {
+        return getStartOffset(index, true);
+    }
+
+    /**
+     * Gets the offset within the parsed line at which the source text of the
+     * argument at the given index starts, including any quotes.
+     *
+     * @param index the index of the argument
+     * @param includeFlagArgs whether to include flag args in the index
+     * @return the start offset of the argument, or -1 if these Arguments were
+     *         not parsed from a line
+     * @see #getLine()
+     */
+    public int getStartOffset(int index, boolean includeFlagArgs) {
+        int token = tokenIndex(index, includeFlagArgs);
+        return line == null ? -1 : spans[token * 2];
+    }
+
+    /**
+     * Gets the offset within the parsed line at which the source text of the
+     * argument at the given index ends (exclusive), including any quotes.
+     *
+     * @param index the index of the argument
+     * @return the end offset of the argument, or -1 if these Arguments were
+     *         not parsed from a line
+     * @see #getLine()
+     */
+    public int getEndOffset(int index) {
+        return getEndOffset(index, true);
+    }
+
+    /**
+     * Gets the offset within the parsed line at which the source text of the
+     * argument at the given index ends (exclusive), including any quotes.
+     *
+     * @param index the index of the argument
+     * @param includeFlagArgs whether to include flag args in the index
+     * @return the end offset of the argument, or -1 if these Arguments were
+     *         not parsed from a line
+     * @see #getLine()
+     */
+    public int getEndOffset(int index, boolean includeFlagArgs) {
+        int token = tokenIndex(index, includeFlagArgs);
+        return line == null ? -1 : spans[token * 2 + 1];
     }
 
     /**
@@ -184,6 +693,7 @@ public class Arguments {
      * @return this Arguments object's Params object
      */
     public Params getParams() {
+        ensureLive();
         return parameters;
     }
 
@@ -242,6 +752,26 @@ public class Arguments {
         return hasParams() && getParams().has(parameter);
     }
 
+    /**
+     * Checks whether the given range of characters is the given flag name,
+     * ignoring case in the same way as looking up flags by name. This lets a
+     * {@link ParamsBase} match the flags it declares in {@link
+     * ParamsBase#getFlagArity(CharSequence, int, int)} exactly as the flags
+     * are later looked up.
+     *
+     * @param name the name of the flag
+     * @param chars the characters containing the range
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return whether the range is the flag name, ignoring case
+     */
+    public static boolean isFlagName(String name, CharSequence chars,
+            int start, int end) {
+        int length = end - start;
+        return length == name.length()
+                && Chars.regionMatchesIgnoreCase(name, 0, chars, start, length);
+    }
+
     /**
      * Gets the {@link Flag} object with the given name, or {@code null} if it
      * doesn't exist.
@@ -251,12 +781,94 @@ public class Arguments {
      *         null} if there isn't one
      */
     public Flag getValueFlag(String flag) {
-        for (Flag f : flags) {
-            if (f.getName().equalsIgnoreCase(flag)) {
-                return f;
+        int f = findFlag(flag, VALUE_FLAG);
+        return f == -1 ? null : flag(f);
+    }
+
+    /**
+     * Gets every {@link Flag} with a value with the given name, in the order
+     * they were given - for example, flags with the values a, b and c for
+     * '-tag a -tag b -tag c'. The returned list is a view of these Arguments,
+     * so it isn't copied and must not be used after they are reset.
+     *
+     * @param flag the name of the flags to get
+     * @return an unmodifiable list of the flags with the given name, which is
+     *         empty if there are none
+     */
+    public List<Flag> getValueFlags(String flag) {
+        int f = findFlag(flag, VALUE_FLAG);
+        if (f == -1) {
+            return Collections.emptyList();
+        }
+        return new FlagList(flagOrderStarts[f], flagOccurrences[f]);
+    }
+
+    /**
+     * Gets the index of every value of the flags with a value with the given
+     * name, in the order they were given - for example, 2, 4 and 6 for '-tag
+     * a -tag b -tag c'. The indices include flag args, as used by {@link
+     * #get(int)}. A value given in the same argument as its flag, as in
+     * {@code --tag=a} with {@link FlagSyntax#GNU}, has the index of the flag.
+     *
+     * @param flag the name of the flags to get the value indices of
+     * @return the indices of the values of the flags with the given name
+     */
+    public IntStream getValueFlagIndices(String flag) {
+        int f = findFlag(flag, VALUE_FLAG);
+        if (f == -1) {
+            return IntStream.empty();
+        }
+        int start = flagOrderStarts[f];
+        return IntStream.range(start, start + flagOccurrences[f])
+                .flatMap(i -> {
+                    int occurrence = flagOrder[i];
+                    // a value in the flag's own token comes before the rest
+                    int first = flagTokens[occurrence]
+                            + (flagValueStarts[occurrence] != -1 ? 0 : 1);
+                    return IntStream.range(first,
+                            first + flagValueCounts[occurrence]);
+                });
+    }
+
+    /**
+     * Gets the amount of times a flag with no value with the given name was
+     * given - for example, 3 for 'v' in '--v --v --v'.
+     *
+     * @param flag the name of the flag to count
+     * @return the amount of flags with no value with the given name
+     */
+    public int countNonValueFlag(String flag) {
+        int f = findFlag(flag, NON_VALUE_FLAG);
+        return f == -1 ? 0 : flagOccurrences[f];
+    }
+
+    /**
+     * Gets the {@link Flag} for the given value flag, creating it if this is
+     * the first time it has been requested.
+     *
+     * @param f the index of the flag in {@link #flagTokens}
+     * @return the {@link Flag}
+     */
+    private Flag flag(int f) {
+        Flag[] cache = flagCache();
+        Flag result = cache[f];
+        if (result == null) {
+            int token = flagTokens[f];
+            Argument[] values = new Argument[flagValueCounts[f]];
+            int next = 0;
+            if (flagValueStarts[f] != -1) {
+                int start = tokenStart(token);
+                values[next++] = new Argument(tokenChars(token),
+                        start + flagValueStarts[f], tokenEnd(token));
             }
+            for (int i = 1; next < values.length; i++) {
+                values[next++] = argument(token + i);
+            }
+            int nameStart = flagNameStarts[f];
+            result = cache[f] = new Flag(token(token).substring(nameStart,
+                    nameStart + flagNameLengths[f]), values);
         }
-        return null;
+        return result;
     }
 
     /**
@@ -267,12 +879,7 @@ public class Arguments {
      * @return whether these arguments contain a value flag with the given name
      */
     public boolean hasValueFlag(String flag) {
-        for (Flag f : flags) {
-            if (f.getName().equalsIgnoreCase(flag)) {
-                return true;
-            }
-        }
-        return false;
+        return findFlag(flag, VALUE_FLAG) != -1;
     }
 
     /**
@@ -284,12 +891,7 @@ public class Arguments {
      *         name
      */
     public boolean hasNonValueFlag(String flag) {
-        for (Argument f : doubleFlags) {
-            if (f.get().equalsIgnoreCase(flag)) {
-                return true;
-            }
-        }
-        return false;
+        return findFlag(flag, NON_VALUE_FLAG) != -1;
     }
 
     /**
@@ -308,11 +910,8 @@ public class Arguments {
      * @return the amount of arguments in this Arguments object
      */
     public int length(boolean includeFlagArgs) {
-        if (includeFlagArgs) {
-            return all.size();
-        } else {
-            return arguments.size();
-        }
+        ensureLive();
+        return includeFlagArgs ? tokenCount : positionalCount;
     }
 
     /**
@@ -321,27 +920,1217 @@ public class Arguments {
      * @return a raw String[] of arguments for this object
      */
     public String[] toStringArray() {
-        String[] result = new String[raw.length];
-        System.arraycopy(raw, 0, result, 0, raw.length);
+        ensureLive();
+        String[] result = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            result[i] = token(i);
+        }
         return result;
     }
 
     /**
-     * Sets the {@link Params} object for this Arguments object. Should only be
-     * called directly after creation.
+     * Gets a read-only view of the raw Strings of the arguments, including
+     * flag args. Unlike {@link #toStringArray()}, nothing is copied, and the
+     * Strings are only created as they are read. The view must not be used
+     * after these Arguments are reset.
      *
-     * @param parameters the {@link Params} to set for this Arguments object
-     * @return this {@link Arguments} object
-     * @throws IllegalStateException if this Arguments object already has a
+     * @return an unmodifiable list of the raw arguments
+     */
+    public List<String> asList() {
+        ensureLive();
+        return new StringList();
+    }
+
+    /**
+     * Gets a stream of the arguments, including flag args, in order. The
+     * stream is sized and splits evenly, so it can be used in parallel as
+     * long as these Arguments aren't reset while it runs. Parallel workers
+     * fill the shared cache as they go, so two workers may briefly create
+     * equal {@link Argument}s for the same token, and the one returned later
+     * by {@link #get(int)} is not always the one the stream saw.
+     *
+     * @return a stream of the arguments
+     */
+    public Stream<Argument> stream() {
+        ensureLive();
+        argumentCache();
+        return StreamSupport.stream(new IndexSpliterator<>(0, tokenCount,
+                this::argument), false);
+    }
+
+    /**
+     * Gets a stream of the arguments which aren't flag args, in order, as
+     * with {@link #get(int, boolean)}. The stream is sized and splits evenly,
+     * so it can be used in parallel in the same way as {@link #stream()}.
+     *
+     * @return a stream of the positional arguments
+     */
+    public Stream<Argument> positionals() {
+        ensureLive();
+        argumentCache();
+        return StreamSupport.stream(new IndexSpliterator<>(0, positionalCount,
+                i -> argument(positionals[i])), false);
+    }
+
+    /**
+     * Gets a stream of every {@link Flag} with a value, in the order they were
+     * given, including repeated flags. The stream is sized and splits evenly,
+     * so it can be used in parallel in the same way as {@link #stream()}.
+     *
+     * @return a stream of the value flags
+     */
+    public Stream<Flag> flags() {
+        ensureLive();
+        argumentCache();
+        flagCache();
+        int count = 0;
+        for (int f = 0; f < flagCount; f++) {
+            if (flagValueCounts[f] != 0) {
+                count++;
+            }
+        }
+        int[] valueFlags = new int[count];
+        for (int f = 0, i = 0; i < count; f++) {
+            if (flagValueCounts[f] != 0) {
+                valueFlags[i++] = f;
+            }
+        }
+        return StreamSupport.stream(new IndexSpliterator<>(0, count,
+                i -> flag(valueFlags[i])), false);
+    }
+
+    /**
+     * Gets a stream of the arguments in the given range, excluding flag args,
+     * parsed as ints. Each argument is parsed straight from its characters
+     * when the stream reaches it, and the stream is sized, so it can be used
+     * in parallel.
+     *
+     * @param from the index of the first argument, inclusive
+     * @param to the index after the last argument
+     * @return a stream of the arguments as ints
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     * @throws ArgumentFormatException when the stream reaches an argument
+     *         which isn't an int
+     */
+    public IntStream ints(int from, int to) {
+        checkRange(from, to);
+        return IntStream.range(from, to).map(i -> (int) parseLong(i,
+                Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Gets a stream of the arguments in the given range, excluding flag args,
+     * parsed as longs, in the same way as {@link #ints(int, int)}.
+     *
+     * @param from the index of the first argument, inclusive
+     * @param to the index after the last argument
+     * @return a stream of the arguments as longs
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     * @throws ArgumentFormatException when the stream reaches an argument
+     *         which isn't a long
+     */
+    public LongStream longs(int from, int to) {
+        checkRange(from, to);
+        return IntStream.range(from, to).mapToLong(i -> parseLong(i,
+                Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Converts the arguments in the given range to ints, excluding flag args.
+     * The arguments are parsed straight from their characters in one pass,
+     * without creating {@link Argument} objects, and large ranges are split
+     * across the common {@link ForkJoinPool}.
+     *
+     * @param from the index of the first argument to convert, inclusive
+     * @param to the index after the last argument to convert
+     * @return the converted values
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     * @throws ArgumentFormatException if any of the arguments isn't an int,
+     *         giving the index of the first one which isn't
+     */
+    public int[] toIntArray(int from, int to) {
+        int[] result = new int[checkRange(from, to)];
+        convert(result, from, to);
+        return result;
+    }
+
+    /**
+     * Converts the arguments in the given range to longs, excluding flag args,
+     * in the same way as {@link #toIntArray(int, int)}.
+     *
+     * @param from the index of the first argument to convert, inclusive
+     * @param to the index after the last argument to convert
+     * @return the converted values
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     * @throws ArgumentFormatException if any of the arguments isn't a long,
+     *         giving the index of the first one which isn't
+     */
+    public long[] toLongArray(int from, int to) {
+        long[] result = new long[checkRange(from, to)];
+        convert(result, from, to);
+        return result;
+    }
+
+    /**
+     * Converts the arguments in the given range to doubles, excluding flag
+     * args, in the same way as {@link #toIntArray(int, int)}.
+     *
+     * @param from the index of the first argument to convert, inclusive
+     * @param to the index after the last argument to convert
+     * @return the converted values
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     * @throws ArgumentFormatException if any of the arguments isn't a double,
+     *         giving the index of the first one which isn't
+     */
+    public double[] toDoubleArray(int from, int to) {
+        double[] result = new double[checkRange(from, to)];
+        convert(result, from, to);
+        return result;
+    }
+
+    /**
+     * Sets the {@link Params} object for this Arguments object. Should only be
+     * called directly after creation.
+     *
+     * @param parameters the {@link Params} to set for this Arguments object
+     * @return this {@link Arguments} object
+     * @throws IllegalStateException if this Arguments object already has a
      *         {@link Params} object associated with it - i.e this method has
      *         already been called or this object was created via the {@link
      *         #Arguments(ParamsBase, String...)} constructor
      */
     public Arguments withParams(Params parameters) {
+        ensureLive();
         if (this.parameters != null) {
             throw new IllegalStateException();
         }
         this.parameters = parameters;
         return this;
     }
+
+    /**
+     * Sets the syntax used to recognise flags the next time these Arguments
+     * are reset, and every time after until it is changed again. The tokens
+     * these Arguments already contain are not affected, so the syntax should
+     * be set before parsing anything, for example:
+     *
+     * <pre>
+     * Arguments args = new Arguments().withSyntax(FlagSyntax.GNU)
+     *         .resetLine("ls -la --color=auto -- -file");
+     * </pre>
+     *
+     * @param syntax the syntax to use
+     * @return this Arguments object
+     */
+    public Arguments withSyntax(FlagSyntax syntax) {
+        ensureLive();
+        if (syntax == null) {
+            throw new IllegalArgumentException();
+        }
+        this.syntax = syntax;
+        return this;
+    }
+
+    /**
+     * Gets the syntax used to recognise flags.
+     *
+     * @return the syntax used to recognise flags
+     */
+    public FlagSyntax getSyntax() {
+        return syntax;
+    }
+
+    /**
+     * Checks that the given range of arguments, excluding flag args, is within
+     * these Arguments.
+     *
+     * @param from the index of the first argument, inclusive
+     * @param to the index after the last argument
+     * @return the amount of arguments in the range
+     * @throws IndexOutOfBoundsException if the range isn't within the
+     *         arguments
+     */
+    private int checkRange(int from, int to) {
+        ensureLive();
+        if (from < 0 || to > positionalCount || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: "
+                    + to + ", Size: " + positionalCount);
+        }
+        return to - from;
+    }
+
+    /**
+     * Converts the given range of arguments into the given array, splitting
+     * the work across the common {@link ForkJoinPool} if the range is large.
+     *
+     * @param into the int[], long[] or double[] to convert into
+     * @param from the index of the first argument, inclusive
+     * @param to the index after the last argument
+     * @throws ArgumentFormatException if any of the arguments couldn't be
+     *         converted
+     */
+    private void convert(Object into, int from, int to) {
+        int bad = to - from > PARALLEL_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(
+                        new ConvertTask(into, from, to, from))
+                : convert(into, from, to, from);
+        if (bad != -1) {
+            throw new ArgumentFormatException(bad,
+                    token(positionals[bad]));
+        }
+    }
+
+    /**
+     * Parses the given positional argument as an integer within the given
+     * bounds.
+     *
+     * @param index the index of the argument, excluding flag args
+     * @param min the minimum allowed value
+     * @param max the maximum allowed value
+     * @return the parsed value
+     * @throws ArgumentFormatException if the argument isn't an integer
+     *         within the bounds
+     */
+    private long parseLong(int index, long min, long max) {
+        int token = positionals[index];
+        CharSequence chars = tokenChars(token);
+        int start = tokenStart(token);
+        int end = tokenEnd(token);
+        long value = Numbers.parseLong(chars, start, end, min, max,
+                Long.MIN_VALUE);
+        if (value == Long.MIN_VALUE
+                && !Numbers.isLong(chars, start, end, min, max)) {
+            throw new ArgumentFormatException(index, token(token));
+        }
+        return value;
+    }
+
+    /**
+     * Converts the given range of arguments into the given array, stopping at
+     * the first argument which can't be converted. Safe to call from multiple
+     * threads for different ranges, as it only reads the token tables.
+     *
+     * @param into the int[], long[] or double[] to convert into
+     * @param from the index of the first argument, inclusive
+     * @param to the index after the last argument
+     * @param offset the index of the argument converted into the start of the
+     *        array
+     * @return the index of the first argument which couldn't be converted, or
+     *         -1 if they all could be
+     */
+    private int convert(Object into, int from, int to, int offset) {
+        if (into instanceof int[]) {
+            int[] result = (int[]) into;
+            for (int i = from; i < to; i++) {
+                int token = positionals[i];
+                // Long.MIN_VALUE can't be an int, so it can only be the
+                // fallback
+                long value = Numbers.parseLong(tokenChars(token),
+                        tokenStart(token), tokenEnd(token), Integer.MIN_VALUE,
+                        Integer.MAX_VALUE, Long.MIN_VALUE);
+                if (value == Long.MIN_VALUE) {
+                    return i;
+                }
+                result[i - offset] = (int) value;
+            }
+        } else if (into instanceof long[]) {
+            long[] result = (long[]) into;
+            for (int i = from; i < to; i++) {
+                int token = positionals[i];
+                CharSequence chars = tokenChars(token);
+                int start = tokenStart(token);
+                int end = tokenEnd(token);
+                long value = Numbers.parseLong(chars, start, end,
+                        Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE);
+                if (value == Long.MIN_VALUE && !Numbers.isLong(chars, start,
+                        end, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                    return i;
+                }
+                result[i - offset] = value;
+            }
+        } else {
+            double[] result = (double[]) into;
+            for (int i = from; i < to; i++) {
+                int token = positionals[i];
+                CharSequence chars = tokenChars(token);
+                int start = tokenStart(token);
+                int end = tokenEnd(token);
+                double value = Numbers.parseDouble(chars, start, end, false,
+                        Double.NaN);
+                if (Double.isNaN(value)
+                        && !Numbers.isDouble(chars, start, end)) {
+                    return i;
+                }
+                result[i - offset] = value;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates {@link Params} for these Arguments using the given {@link
+     * ParamsBase}, reusing the Params from before they were last reset if
+     * possible.
+     *
+     * @param paramsBase the {@link ParamsBase} to create a {@link Params}
+     *        object from
+     * @return this Arguments object
+     */
+    private Arguments withRecycledParams(ParamsBase paramsBase) {
+        Params reuse = recycledParams;
+        recycledParams = null;
+        return withParams(paramsBase.createParams(this, reuse));
+    }
+
+    /**
+     * Gets the view of the given buffer, reusing the view of the last buffer
+     * parsed if there is one.
+     *
+     * @param buffer the buffer to view
+     * @return the view of the buffer
+     */
+    private ByteChars byteChars(ByteBuffer buffer) {
+        // the previous view may be referenced by arguments from before the
+        // reset, but they mustn't be used after resetting anyway
+        if (byteChars == null) {
+            byteChars = new ByteChars(buffer);
+        } else {
+            byteChars.reset(buffer);
+        }
+        return byteChars;
+    }
+
+    /**
+     * Clears the state from any previous parse so new tokens can be added,
+     * keeping the tables for reuse.
+     *
+     * @param line the line which will be parsed, or {@code null}
+     * @param capacity the amount of tokens to make space for
+     */
+    private void begin(CharSequence line, int capacity) {
+        if (argumentCache != null) {
+            Arrays.fill(argumentCache, 0,
+                    Math.min(tokenCount, argumentCache.length), null);
+        }
+        if (flagCache != null) {
+            Arrays.fill(flagCache, 0, Math.min(flagCount, flagCache.length),
+                    null);
+        }
+        if (raw == lineTokens && lineTokens != null) {
+            Arrays.fill(lineTokens, 0, tokenCount, null);
+        }
+        if (parameters != null) {
+            recycledParams = parameters;
+            parameters = null;
+        }
+
+        this.line = line;
+        this.tokenCount = 0;
+        this.positionalCount = 0;
+        this.flagCount = 0;
+        this.pendingFlag = -1;
+        this.terminated = false;
+        ensureCapacity(capacity);
+        if (line != null) {
+            raw = lineTokens;
+        }
+    }
+
+    /**
+     * Parses the given pre-split arguments.
+     *
+     * @param parse the raw argument {@link String}s to parse
+     */
+    private void split(String[] parse) {
+        begin(null, parse.length);
+        this.raw = parse;
+        for (String element : parse) {
+            if (element == null) {
+                throw new IllegalArgumentException();
+            }
+            addToken();
+        }
+        finishTokens();
+    }
+
+    /**
+     * Parses the given line with the {@link Tokenizer}.
+     *
+     * @param line the line to parse
+     */
+    private void tokenize(CharSequence line) {
+        startTokenizing(line);
+        tokenizer.scan(Integer.MAX_VALUE);
+        finishTokens();
+    }
+
+    /**
+     * Starts parsing the given line with the {@link Tokenizer}, without adding
+     * any tokens yet.
+     *
+     * @param line the line to parse
+     */
+    private void startTokenizing(CharSequence line) {
+        begin(line, 8);
+        if (tokenizer == null) {
+            tokenizer = new Tokenizer(this);
+        }
+        tokenizer.start(line);
+    }
+
+    /**
+     * Continues a parse started for a {@link Peek}, adding tokens until there
+     * are the given amount of positional arguments or all tokens have been
+     * added, and completing the parse in the latter case.
+     *
+     * @param positionals the amount of positional arguments to stop after
+     * @return whether all tokens have been added and the parse is complete
+     */
+    boolean scan(int positionals) {
+        boolean complete;
+        if (line != null) {
+            complete = tokenizer.scan(positionals);
+        } else {
+            while (tokenCount < raw.length && positionalCount < positionals) {
+                if (raw[tokenCount] == null) {
+                    throw new IllegalArgumentException();
+                }
+                addToken();
+            }
+            complete = tokenCount == raw.length;
+        }
+        if (complete) {
+            finishTokens();
+        }
+        return complete;
+    }
+
+    /**
+     * Makes the given {@link ParamsBase} declare which flags take values for
+     * the rest of a parse started for a {@link Peek}, if the tokens added so
+     * far were classified in the same way as it would classify them. That is
+     * the case if it is already the schema, or if there is no schema and no
+     * flag has been added yet.
+     *
+     * @param paramsBase the {@link ParamsBase} to declare the flags
+     * @return whether the {@link ParamsBase} is now the schema
+     */
+    boolean adoptSchema(ParamsBase paramsBase) {
+        if (schema == null && flagCount == 0) {
+            schema = paramsBase;
+        }
+        return schema == paramsBase;
+    }
+
+    /**
+     * Gets the amount of positional arguments added so far. Only used by
+     * {@link Tokenizer}.
+     *
+     * @return the amount of positional arguments
+     */
+    int positionalsAdded() {
+        return positionalCount;
+    }
+
+    /**
+     * Makes sure the token tables have space for at least the given amount of
+     * tokens, growing them if they don't.
+     *
+     * @param capacity the amount of tokens to make space for
+     */
+    private void ensureCapacity(int capacity) {
+        if (kinds == null || kinds.length < capacity) {
+            int size = Math.max(capacity, kinds == null ? 0 : kinds.length * 2);
+            kinds = kinds == null ? new byte[size] : Arrays.copyOf(kinds, size);
+            positionals = grow(positionals, size);
+        }
+        if (flagTokens == null || flagTokens.length < capacity) {
+            int size = Math.max(capacity,
+                    flagTokens == null ? 0 : flagTokens.length * 2);
+            flagTokens = grow(flagTokens, size);
+            flagNameStarts = grow(flagNameStarts, size);
+            flagNameLengths = grow(flagNameLengths, size);
+            flagValueStarts = grow(flagValueStarts, size);
+            flagValueCounts = grow(flagValueCounts, size);
+        }
+        if (line != null && (lineTokens == null
+                || lineTokens.length < capacity)) {
+            int size = Math.max(capacity,
+                    lineTokens == null ? 0 : lineTokens.length * 2);
+            lineTokens = lineTokens == null ? new String[size]
+                    : Arrays.copyOf(lineTokens, size);
+            raw = lineTokens;
+            spans = grow(spans, size * 2);
+        }
+    }
+
+    /**
+     * Grows the given array to the given size, copying its contents.
+     *
+     * @param array the array to grow, or {@code null}
+     * @param size the new size
+     * @return the grown array
+     */
+    private static int[] grow(int[] array, int size) {
+        return array == null ? new int[size] : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Adds a token parsed from {@link #line}, growing the token tables if
+     * they are full. Only used by {@link Tokenizer}.
+     *
+     * @param start the start offset of the token's source text in the line
+     * @param end the end offset of the token's source text in the line
+     * @param content the content of the token if it differs from its source
+     *        text (i.e it was quoted or escaped), else {@code null}
+     */
+    void addToken(int start, int end, String content) {
+        ensureCapacity(tokenCount + 1);
+        raw[tokenCount] = content;
+        spans[tokenCount * 2] = start;
+        spans[tokenCount * 2 + 1] = end;
+        addToken();
+    }
+
+    /**
+     * Classifies the next token, whose content must already be available.
+     */
+    private void addToken() {
+        int token = tokenCount++;
+        if (pendingFlag != -1) {
+            // a previous token was a flag which takes this token as a value
+            // whatever it is
+            kinds[flagTokens[pendingFlag]] = VALUE_FLAG;
+            kinds[token] = FLAG_VALUE;
+            flagValueCounts[pendingFlag]++;
+            if (--pendingValues == 0) {
+                pendingFlag = -1;
+            }
+            return;
+        }
+        if (terminated) {
+            // after --, everything is a normal argument
+            addPositional(token);
+            return;
+        }
+
+        CharSequence chars = tokenChars(token);
+        int start = tokenStart(token);
+        int length = tokenEnd(token) - start;
+        if (syntax == FlagSyntax.GNU) {
+            addGnuToken(token, chars, start, length);
+            return;
+        }
+        if (length < 2 || chars.charAt(start) != '-') {
+            // normal argument, or flag with no name (e.g, "-")
+            addPositional(token);
+            return;
+        }
+
+        int nameStart = 1;
+        if (chars.charAt(start + 1) == '-') {
+            if (length < 3) {
+                // arg is "--" - no name given for flag
+                addPositional(token);
+                return;
+            }
+            nameStart = 2;
+        }
+
+        int arity = flagArity(chars, start + nameStart, start + length);
+        if (arity < 0) {
+            // not declared - a single flag (-) takes one value and a double
+            // flag (--) takes none
+            arity = 2 - nameStart;
+        }
+        takeValues(addFlag(token, nameStart, length - nameStart), arity);
+    }
+
+    /**
+     * Classifies the next token according to {@link FlagSyntax#GNU}.
+     *
+     * @param token the index of the token
+     * @param chars the characters containing the token's content
+     * @param start the start of the token's content in the characters
+     * @param length the length of the token's content
+     */
+    private void addGnuToken(int token, CharSequence chars, int start,
+            int length) {
+        int result = GnuScanner.scan(chars, start, start + length);
+        switch (GnuScanner.kind(result)) {
+            case GnuScanner.TERMINATOR:
+                kinds[token] = TERMINATOR;
+                terminated = true;
+                return;
+            case GnuScanner.LONG: {
+                int arity = flagArity(chars, start + 2, start + length);
+                takeValues(addFlag(token, 2, length - 2), Math.max(arity, 0));
+                return;
+            }
+            case GnuScanner.LONG_VALUE: {
+                int equals = GnuScanner.offset(result);
+                addInlineValue(addFlag(token, 2, equals - 2), equals + 1);
+                return;
+            }
+            case GnuScanner.SHORT:
+                break;
+            default:
+                addPositional(token);
+                return;
+        }
+
+        // a cluster of short flags - each one is a flag with no value until
+        // one is found which takes values
+        for (int i = 1; i < length; i++) {
+            int arity = flagArity(chars, start + i, start + i + 1);
+            if (arity < 0) {
+                // not declared - a lone flag takes one value as with the
+                // simple syntax, but flags in a cluster take none
+                arity = length == 2 ? 1 : 0;
+            }
+            int flag = addFlag(token, i, 1);
+            if (arity > 0) {
+                if (i + 1 < length) {
+                    // the rest of the token is the first value
+                    addInlineValue(flag, i + 1);
+                    arity--;
+                }
+                takeValues(flag, arity);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a normal argument for the given token.
+     *
+     * @param token the index of the token
+     */
+    private void addPositional(int token) {
+        kinds[token] = POSITIONAL;
+        positionals[positionalCount++] = token;
+    }
+
+    /**
+     * Gets the amount of values the flag with the given name takes, according
+     * to the {@link #schema}.
+     *
+     * @param chars the characters containing the flag's name
+     * @param start the start of the name, inclusive
+     * @param end the end of the name, exclusive
+     * @return the amount of values the flag takes, or -1 if it isn't declared
+     */
+    private int flagArity(CharSequence chars, int start, int end) {
+        return schema == null ? -1 : schema.getFlagArity(chars, start, end);
+    }
+
+    /**
+     * Makes the given flag take the given amount of following tokens as its
+     * values.
+     *
+     * @param flag the index of the flag in {@link #flagTokens}
+     * @param values the amount of values to take
+     */
+    private void takeValues(int flag, int values) {
+        if (values > 0) {
+            pendingFlag = flag;
+            pendingValues = values;
+        }
+    }
+
+    /**
+     * Gives the given flag the rest of its token as its first value.
+     *
+     * @param flag the index of the flag in {@link #flagTokens}
+     * @param valueStart the offset of the value within the token
+     */
+    private void addInlineValue(int flag, int valueStart) {
+        kinds[flagTokens[flag]] = VALUE_FLAG;
+        flagValueStarts[flag] = valueStart;
+        flagValueCounts[flag] = 1;
+    }
+
+    /**
+     * Adds a flag which has no value (yet) for the given token.
+     *
+     * @param token the index of the flag's token
+     * @param nameStart the offset of the flag's name within the token
+     * @param nameLength the length of the flag's name
+     * @return the index of the flag in {@link #flagTokens}
+     */
+    private int addFlag(int token, int nameStart, int nameLength) {
+        if (flagCount == flagTokens.length) {
+            // only possible with clusters of flags, of which there can be
+            // more than there are tokens
+            int size = Math.max(flagCount * 2, 8);
+            flagTokens = grow(flagTokens, size);
+            flagNameStarts = grow(flagNameStarts, size);
+            flagNameLengths = grow(flagNameLengths, size);
+            flagValueStarts = grow(flagValueStarts, size);
+            flagValueCounts = grow(flagValueCounts, size);
+        }
+        kinds[token] = NON_VALUE_FLAG;
+        flagTokens[flagCount] = token;
+        flagNameStarts[flagCount] = nameStart;
+        flagNameLengths[flagCount] = nameLength;
+        flagValueStarts[flagCount] = -1;
+        flagValueCounts[flagCount] = 0;
+        return flagCount++;
+    }
+
+    /**
+     * Completes parsing once all tokens have been added, indexing the flags
+     * by name so lookups don't have to check every flag.
+     */
+    private void finishTokens() {
+        // a flag may be missing values if it is at the end
+        pendingFlag = -1;
+
+        if (flagHashes == null || flagHashes.length < flagCount) {
+            flagHashes = new int[flagCount];
+            flagFirsts = new int[flagCount];
+            flagOrderStarts = new int[flagCount];
+            flagOccurrences = new int[flagCount];
+            flagOrder = new int[flagCount];
+        }
+        int capacity = Chars.tableCapacity(flagCount);
+        if (flagTable == null || flagTable.length < capacity) {
+            flagTable = new int[capacity];
+        } else {
+            Arrays.fill(flagTable, 0);
+        }
+        int mask = flagTable.length - 1;
+        for (int f = 0; f < flagCount; f++) {
+            int token = flagTokens[f];
+            int nameStart = tokenStart(token) + flagNameStarts[f];
+            int hash = Chars.foldedHash(tokenChars(token), nameStart,
+                    nameStart + flagNameLengths[f]);
+            flagHashes[f] = hash;
+
+            int slot = hash & mask;
+            int first = f;
+            for (; flagTable[slot] != 0; slot = (slot + 1) & mask) {
+                int other = flagTable[slot] - 1;
+                if (flagHashes[other] == hash && isSameFlag(f, other)) {
+                    first = other;
+                    break;
+                }
+            }
+            if (first == f) {
+                flagTable[slot] = f + 1;
+                flagOccurrences[f] = 0;
+            }
+            flagFirsts[f] = first;
+            flagOccurrences[first]++;
+        }
+
+        // group the occurrences of each flag together, in order
+        int offset = 0;
+        for (int f = 0; f < flagCount; f++) {
+            if (flagFirsts[f] == f) {
+                flagOrderStarts[f] = offset;
+                offset += flagOccurrences[f];
+                flagOccurrences[f] = 0;
+            }
+        }
+        for (int f = 0; f < flagCount; f++) {
+            int first = flagFirsts[f];
+            flagOrder[flagOrderStarts[first] + flagOccurrences[first]++] = f;
+        }
+    }
+
+    /**
+     * Checks whether the given flags are occurrences of the same flag, which
+     * they are if they have the same name, ignoring case, and either both or
+     * neither have values.
+     *
+     * @param f the index of the first flag in {@link #flagTokens}
+     * @param other the index of the other flag in {@link #flagTokens}
+     * @return whether the flags are the same
+     */
+    private boolean isSameFlag(int f, int other) {
+        int length = flagNameLengths[f];
+        int token = flagTokens[f];
+        int otherToken = flagTokens[other];
+        return length == flagNameLengths[other]
+                && (flagValueCounts[f] != 0) == (flagValueCounts[other] != 0)
+                && Chars.regionMatchesIgnoreCase(tokenChars(token),
+                tokenStart(token) + flagNameStarts[f], tokenChars(otherToken),
+                tokenStart(otherToken) + flagNameStarts[other], length);
+    }
+
+    /**
+     * Marks these Arguments as acquired from an {@link ArgumentsPool}.
+     */
+    void acquired() {
+        releasedAt = null;
+    }
+
+    /**
+     * Clears these Arguments for release to an {@link ArgumentsPool} so they
+     * don't keep the last input reachable, optionally marking them as
+     * released so that any further use fails.
+     *
+     * @param site where the Arguments were released, to be used as the cause
+     *        of the exception thrown on further use, or {@code null} to not
+     *        mark them
+     * @throws IllegalStateException if these Arguments were already released
+     *         in debug mode
+     */
+    void released(Throwable site) {
+        ensureLive();
+        schema = null;
+        syntax = FlagSyntax.SIMPLE;
+        split(NO_ARGS);
+        releasedAt = site;
+    }
+
+    /**
+     * Makes sure these Arguments haven't been released to an {@link
+     * ArgumentsPool} in debug mode.
+     *
+     * @throws IllegalStateException if they have been released
+     */
+    private void ensureLive() {
+        if (releasedAt != null) {
+            throw new IllegalStateException(
+                    "Arguments used after being released to a pool",
+                    releasedAt);
+        }
+    }
+
+    /**
+     * Gets the characters containing the content of the given token, which
+     * lies between {@link #tokenStart(int)} and {@link #tokenEnd(int)}.
+     *
+     * @param token the index of the token
+     * @return the characters containing the token's content
+     */
+    private CharSequence tokenChars(int token) {
+        String element = raw[token];
+        return element != null ? element : line;
+    }
+
+    /**
+     * Gets the offset of the content of the given token in {@link
+     * #tokenChars(int)}.
+     *
+     * @param token the index of the token
+     * @return the start of the token's content, inclusive
+     */
+    private int tokenStart(int token) {
+        return raw[token] != null ? 0 : spans[token * 2];
+    }
+
+    /**
+     * Gets the end offset of the content of the given token in {@link
+     * #tokenChars(int)}.
+     *
+     * @param token the index of the token
+     * @return the end of the token's content, exclusive
+     */
+    private int tokenEnd(int token) {
+        String element = raw[token];
+        return element != null ? element.length() : spans[token * 2 + 1];
+    }
+
+    /**
+     * Gets the raw String for the given token, creating it from {@link #line}
+     * if it hasn't been created yet.
+     *
+     * @param token the index of the token
+     * @return the raw String for the token
+     */
+    private String token(int token) {
+        String result = raw[token];
+        if (result == null) {
+            Argument[] cache = argumentCache;
+            Argument arg = cache != null && token < cache.length ? cache[token]
+                    : null;
+            result = raw[token] = arg != null ? arg.get()
+                    : line.subSequence(spans[token * 2], spans[token * 2 + 1])
+                    .toString();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the {@link Argument} for the token at the given index into {@link
+     * #raw}, creating it if this is the first time it has been requested.
+     *
+     * @param token the index of the token
+     * @return the {@link Argument} for the token
+     */
+    private Argument argument(int token) {
+        Argument[] cache = argumentCache();
+        Argument result = cache[token];
+        if (result == null) {
+            String element = raw[token];
+            result = cache[token] = element != null ? new Argument(element)
+                    : new Argument(line, spans[token * 2],
+                    spans[token * 2 + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the cache of {@link Argument}s for the tokens, creating or growing
+     * it if it can't hold every token. Streams call this before they are
+     * split, so threads never replace the cache while others are using it.
+     *
+     * @return the cache of {@link Argument}s, indexed by token
+     */
+    private Argument[] argumentCache() {
+        Argument[] cache = argumentCache;
+        if (cache == null) {
+            cache = argumentCache = new Argument[tokenCount];
+        } else if (cache.length < tokenCount) {
+            // more tokens have been added since a peek
+            cache = argumentCache = Arrays.copyOf(cache, tokenCount);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the cache of {@link Flag}s, creating it if it can't hold every
+     * flag.
+     *
+     * @return the cache of {@link Flag}s, indexed by flag
+     */
+    private Flag[] flagCache() {
+        Flag[] cache = flagCache;
+        if (cache == null || cache.length < flagCount) {
+            cache = flagCache = new Flag[flagCount];
+        }
+        return cache;
+    }
+
+    /**
+     * Converts the given index into a token index.
+     *
+     * @param index the index of the argument
+     * @param includeFlagArgs whether flag args are included in the index
+     * @return the index of the token for the argument
+     */
+    private int tokenIndex(int index, boolean includeFlagArgs) {
+        ensureLive();
+        int size = includeFlagArgs ? tokenCount : positionalCount;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + size);
+        }
+        return includeFlagArgs ? index : positionals[index];
+    }
+
+    /**
+     * Finds the first flag of the given kind with the given name, ignoring
+     * case.
+     *
+     * @param name the name of the flag to find
+     * @param kind the kind of the flag token
+     * @return the index of the flag in {@link #flagTokens}, or -1 if there is
+     *         no such flag
+     */
+    private int findFlag(String name, byte kind) {
+        ensureLive();
+        int hash = Chars.foldedHash(name, 0, name.length());
+        int mask = flagTable.length - 1;
+        // only the first occurrence of each flag is in the table
+        for (int slot = hash & mask; flagTable[slot] != 0;
+                slot = (slot + 1) & mask) {
+            int f = flagTable[slot] - 1;
+            if (flagHashes[f] != hash) {
+                continue;
+            }
+            int token = flagTokens[f];
+            int nameStart = tokenStart(token) + flagNameStarts[f];
+            if ((flagValueCounts[f] != 0) == (kind == VALUE_FLAG)
+                    && flagNameLengths[f] == name.length()
+                    && Chars.regionMatchesIgnoreCase(tokenChars(token),
+                    nameStart, name, 0, name.length())) {
+                return f;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A view of the occurrences of a flag, as returned by {@link
+     * #getValueFlags(String)}.
+     */
+    private final class FlagList extends AbstractList<Flag>
+            implements RandomAccess {
+        /**
+         * The offset of the occurrences in {@link #flagOrder}.
+         */
+        private final int start;
+        /**
+         * The amount of occurrences.
+         */
+        private final int size;
+
+        FlagList(int start, int size) {
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public Flag get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: " + size);
+            }
+            ensureLive();
+            return flag(flagOrder[start + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A view of the raw Strings of the arguments, as returned by {@link
+     * #asList()}.
+     */
+    private final class StringList extends AbstractList<String>
+            implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return token(tokenIndex(index, true));
+        }
+
+        @Override
+        public int size() {
+            ensureLive();
+            return tokenCount;
+        }
+    }
+
+    /**
+     * A spliterator over a range of indices, mapping each index to an element
+     * when it is reached. Splitting halves the range, so every part knows its
+     * exact size.
+     *
+     * It doesn't report {@link #IMMUTABLE}: the tokens never change while
+     * the Arguments are live, but creating an element fills the lazy caches
+     * in the Arguments and in each {@link Argument}. The caches are sized
+     * before the stream is split and every write is idempotent, so racing
+     * workers at worst create equal elements twice. Resetting the Arguments
+     * while a stream runs is not supported.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class IndexSpliterator<T> implements Spliterator<T> {
+        /**
+         * The next index, inclusive.
+         */
+        private int from;
+        /**
+         * The end of the range, exclusive.
+         */
+        private final int to;
+        /**
+         * Gets the element for an index.
+         */
+        private final IntFunction<T> element;
+
+        IndexSpliterator(int from, int to, IntFunction<T> element) {
+            this.from = from;
+            this.to = to;
+            this.element = element;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(element.apply(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            int end = to;
+            for (int i = from; i < end; i++) {
+                action.accept(element.apply(i));
+            }
+            from = end;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            Spliterator<T> prefix = new IndexSpliterator<>(from, middle,
+                    element);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * Converts a range of arguments into an array, splitting the range in
+     * half until it is small enough to convert directly.
+     */
+    private final class ConvertTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The array to convert into.
+         */
+        private final Object into;
+        /**
+         * The index of the first argument to convert, inclusive.
+         */
+        private final int from;
+        /**
+         * The index after the last argument to convert.
+         */
+        private final int to;
+        /**
+         * The index of the argument converted into the start of the array.
+         */
+        private final int offset;
+
+        ConvertTask(Object into, int from, int to, int offset) {
+            this.into = into;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return convert(into, from, to, offset);
+            }
+            int middle = (from + to) >>> 1;
+            ConvertTask right = new ConvertTask(into, middle, to, offset);
+            right.fork();
+            int bad = new ConvertTask(into, from, middle, offset).compute();
+            int rightBad = right.join();
+            // the first bad argument is in the left half if there is one
+            return bad != -1 ? bad : rightBad;
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.ParamsBase;
+
+/**
+ * A pool of reusable {@link Arguments} objects, so that parsing doesn't
+ * allocate once the pool has warmed up. Each thread has its own bounded stack
+ * of released Arguments, so acquiring and releasing never contend.
+ *
+ * <pre>
+ * Arguments args = pool.acquire().resetLine(paramsBase, line);
+ * try {
+ *     // handle the command
+ * } finally {
+ *     pool.release(args);
+ * }
+ * </pre>
+ *
+ * When Arguments created with a {@link ParamsBase} are released and reset
+ * with the same {@link ParamsBase}, their {@link Params} object is reused.
+ * Nothing obtained from pooled Arguments, including {@link Argument}, {@link
+ * Flag} and {@link Params} objects, may be used after the Arguments are
+ * released. In debug mode, using released Arguments or releasing them twice
+ * throws an {@link IllegalStateException} whose cause shows where they were
+ * released.
+ */
+public final class ArgumentsPool {
+    /**
+     * The maximum amount of released Arguments kept for each thread.
+     */
+    private final int maxPerThread;
+    /**
+     * Whether use of released Arguments is detected.
+     */
+    private final boolean debug;
+    /**
+     * The released Arguments available to each thread.
+     */
+    private final ThreadLocal<Stack> stacks;
+
+    /**
+     * Creates a new pool which keeps up to the given amount of released
+     * Arguments for each thread.
+     *
+     * @param maxPerThread the maximum amount of Arguments kept per thread
+     */
+    public ArgumentsPool(int maxPerThread) {
+        this(maxPerThread, false);
+    }
+
+    /**
+     * Creates a new pool which keeps up to the given amount of released
+     * Arguments for each thread, optionally detecting use of Arguments after
+     * they have been released.
+     *
+     * @param maxPerThread the maximum amount of Arguments kept per thread
+     * @param debug whether to detect use of released Arguments
+     */
+    public ArgumentsPool(int maxPerThread, boolean debug) {
+        if (maxPerThread < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxPerThread = maxPerThread;
+        this.debug = debug;
+        this.stacks = ThreadLocal.withInitial(() -> new Stack(maxPerThread));
+    }
+
+    /**
+     * Gets empty Arguments from the pool, or creates new Arguments if there
+     * are none available to this thread. The Arguments should be filled with
+     * one of the {@code reset} methods, such as {@link
+     * Arguments#resetLine(CharSequence)}.
+     *
+     * @return empty Arguments
+     */
+    public Arguments acquire() {
+        Stack stack = stacks.get();
+        if (stack.size == 0) {
+            return new Arguments();
+        }
+        Arguments result = stack.items[--stack.size];
+        stack.items[stack.size] = null;
+        result.acquired();
+        return result;
+    }
+
+    /**
+     * Returns the given Arguments to the pool. They, and everything obtained
+     * from them, must not be used again until they are acquired again.
+     *
+     * @param arguments the Arguments to release
+     * @throws IllegalStateException if in debug mode and the Arguments have
+     *         already been released
+     */
+    public void release(Arguments arguments) {
+        arguments.released(debug ? new Throwable("Released here") : null);
+        Stack stack = stacks.get();
+        if (stack.size < maxPerThread) {
+            stack.items[stack.size++] = arguments;
+        }
+    }
+
+    /**
+     * Checks whether this pool detects use of Arguments after they have been
+     * released.
+     *
+     * @return whether this pool is in debug mode
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * A bounded stack of released Arguments for a single thread.
+     */
+    private static final class Stack {
+        final Arguments[] items;
+        int size;
+
+        Stack(int capacity) {
+            this.items = new Arguments[capacity];
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of the remaining bytes of a {@link ByteBuffer} containing
+ * UTF-8 text as a {@link CharSequence}, used to tokenize the buffer in place.
+ *
+ * Each byte is read as a single character, so the view is only accurate for
+ * ASCII text. Ranges containing other characters must be decoded with {@link
+ * #decode(int, int)}.
+ */
+final class ByteChars implements CharSequence {
+    /**
+     * The buffer being viewed.
+     */
+    private ByteBuffer buffer;
+    /**
+     * The backing array of {@link #buffer} for heap buffers, or {@code null}.
+     */
+    private byte[] array;
+    /**
+     * The offset of the first viewed byte in {@link #array}, or in {@link
+     * #buffer} if it has no accessible array.
+     */
+    private int offset;
+    /**
+     * The amount of viewed bytes.
+     */
+    private int length;
+
+    /**
+     * Creates a view of the bytes between the position and the limit of the
+     * given buffer. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to view
+     */
+    ByteChars(ByteBuffer buffer) {
+        reset(buffer);
+    }
+
+    /**
+     * Changes this view to view the bytes between the position and the limit
+     * of the given buffer.
+     *
+     * @param buffer the buffer to view
+     */
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            this.array = null;
+            this.offset = buffer.position();
+        }
+        this.length = buffer.remaining();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Length: " + length);
+        }
+        byte b = array != null ? array[offset + index]
+                : buffer.get(offset + index);
+        return (char) (b & 0xFF);
+    }
+
+    /**
+     * Gets the given range of bytes as a String, reading each byte as a single
+     * character. Only valid for ranges containing ASCII text.
+     *
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return a String of the range
+     */
+    @Override
+    public String subSequence(int start, int end) {
+        return new String(bytes(start, end), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decodes the given range of bytes as UTF-8.
+     *
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the decoded String
+     */
+    String decode(int start, int end) {
+        if (array != null) {
+            return new String(array, offset + start, end - start,
+                    StandardCharsets.UTF_8);
+        }
+        return new String(bytes(start, end), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes characters which were read from this view, one character per
+     * byte, as UTF-8.
+     *
+     * @param chars the characters to decode
+     * @return the decoded String
+     */
+    static String decode(CharSequence chars) {
+        byte[] bytes = new byte[chars.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) chars.charAt(i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the given range of bytes into a new array.
+     *
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the bytes in the range
+     */
+    private byte[] bytes(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range: " + start + "-" + end
+                    + ", Length: " + length);
+        }
+        byte[] result = new byte[end - start];
+        if (array != null) {
+            System.arraycopy(array, offset + start, result, 0, result.length);
+        } else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = buffer.get(offset + start + i);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return decode(0, length);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * Character utilities shared by the parsing code, mostly for comparing and
+ * hashing characters ignoring case without allocating.
+ */
+final class Chars {
+    /**
+     * Folds the given character so that two characters which are equal
+     * according to {@link String#equalsIgnoreCase(String)} fold to the same
+     * value. ASCII characters take a fast path.
+     *
+     * @param ch the character to fold
+     * @return the folded character
+     */
+    static char fold(char ch) {
+        if (ch < 0x80) {
+            return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Calculates a hash of the given range of characters which is the same
+     * for any two ranges which are equal ignoring case.
+     *
+     * @param chars the characters to hash
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the case-insensitive hash of the range
+     */
+    static int foldedHash(CharSequence chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(chars.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Checks whether the given ranges of characters are equal, ignoring case
+     * in the same way as {@link String#regionMatches(boolean, int, String,
+     * int, int)}.
+     *
+     * @param a the first characters
+     * @param aStart the start of the range in the first characters
+     * @param b the second characters
+     * @param bStart the start of the range in the second characters
+     * @param length the length of the ranges
+     * @return whether the ranges are equal ignoring case
+     */
+    static boolean regionMatchesIgnoreCase(CharSequence a, int aStart,
+            CharSequence b, int bStart, int length) {
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(aStart + i);
+            char y = b.charAt(bStart + i);
+            if (x != y && fold(x) != fold(y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the smallest power of two which is at least twice the given size,
+     * for use as the capacity of an open-addressed table.
+     *
+     * @param size the amount of entries in the table
+     * @return the capacity to use for the table
+     */
+    static int tableCapacity(int size) {
+        return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    }
+
+    private Chars() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * Converts an {@link Argument} into a value of some type, for use with
+ * {@link Argument#as(Class)}. Converters are registered with {@link
+ * Converters#register(Class, Converter)}.
+ *
+ * @param <T> the type converted to
+ */
+@FunctionalInterface
+public interface Converter<T> {
+    /**
+     * Converts the given Argument.
+     *
+     * @param argument the Argument to convert
+     * @return the converted value
+     * @throws IllegalArgumentException if the Argument can't be converted,
+     *         such as a {@link NumberFormatException} for a malformed number
+     */
+    T convert(Argument argument);
+}
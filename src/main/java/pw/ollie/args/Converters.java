@@ -0,0 +1,350 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The registry of {@link Converter}s used by {@link Argument#as(Class)}.
+ *
+ * The converter for a class is looked up once and then cached with the class
+ * through a {@link ClassValue}, so converting an Argument costs a single
+ * lookup. Converters for the primitive types and their wrappers call the
+ * matching primitive method of {@link Argument}, such as {@link
+ * Argument#asInt()}, directly, and {@link #getInt(Class)}, {@link
+ * #getLong(Class)} and {@link #getDouble(Class)} give the same conversions
+ * without boxing, for use with primitive streams. Converters are also
+ * provided for {@link String}, {@link CharSequence}, {@link Argument}, {@link
+ * BigInteger}, {@link BigDecimal} and enums, whose constants are matched
+ * ignoring case.
+ *
+ * As a slow fallback for any other class without a registered converter, a
+ * public static {@code valueOf(String)} method or public constructor taking a
+ * String is called reflectively if there is one. Each such conversion creates
+ * a String and goes through reflection, so classes which are converted often
+ * should have a converter registered instead.
+ */
+public final class Converters {
+    /**
+     * The converters registered with {@link #register(Class, Converter)}.
+     */
+    private static final Map<Class<?>, Converter<?>> REGISTERED =
+            new ConcurrentHashMap<>();
+    /**
+     * The converter resolved for each class.
+     */
+    private static final ClassValue<Converter<?>> CACHE =
+            new ClassValue<Converter<?>>() {
+                @Override
+                protected Converter<?> computeValue(Class<?> type) {
+                    return resolve(type);
+                }
+            };
+
+    /**
+     * Registers a converter for the given class, replacing any converter
+     * previously registered for it. The built-in converters, such as those
+     * for the primitive types, can't be replaced.
+     *
+     * @param type the class to convert to
+     * @param converter the converter
+     * @param <T> the type to convert to
+     */
+    public static <T> void register(Class<T> type, Converter<? extends T>
+            converter) {
+        if (type == null || converter == null || builtIn(type) != null) {
+            throw new IllegalArgumentException();
+        }
+        REGISTERED.put(type, converter);
+        CACHE.remove(type);
+    }
+
+    /**
+     * Gets the converter for the given class.
+     *
+     * @param type the class to convert to
+     * @param <T> the type to convert to
+     * @return the converter for the class
+     * @throws IllegalArgumentException if there is no converter for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Converter<T> get(Class<T> type) {
+        Converter<T> result = (Converter<T>) CACHE.get(type);
+        if (result == null) {
+            throw new IllegalArgumentException("No converter for "
+                    + type.getName());
+        }
+        return result;
+    }
+
+    /**
+     * Gets an unboxed conversion to int for the given class, which must be
+     * int, short, byte or one of their wrappers. For example, {@code
+     * args.positionals().mapToInt(Converters.getInt(int.class))}.
+     *
+     * @param type the class to convert to
+     * @return the conversion, which throws a {@link NumberFormatException}
+     *         for values which aren't in the range of the type
+     * @throws IllegalArgumentException if the class can't be converted to
+     *         an int
+     */
+    public static ToIntFunction<Argument> getInt(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Argument::asInt;
+        } else if (type == short.class || type == Short.class) {
+            return Argument::asShort;
+        } else if (type == byte.class || type == Byte.class) {
+            return Converters::asByte;
+        }
+        throw new IllegalArgumentException("No int conversion for "
+                + type.getName());
+    }
+
+    /**
+     * Gets an unboxed conversion to long for the given class, which must be
+     * long or a type accepted by {@link #getInt(Class)}.
+     *
+     * @param type the class to convert to
+     * @return the conversion, which throws a {@link NumberFormatException}
+     *         for values which aren't in the range of the type
+     * @throws IllegalArgumentException if the class can't be converted to a
+     *         long
+     */
+    public static ToLongFunction<Argument> getLong(Class<?> type) {
+        if (type == long.class || type == Long.class) {
+            return Argument::asLong;
+        }
+        ToIntFunction<Argument> narrower = getInt(type);
+        return narrower::applyAsInt;
+    }
+
+    /**
+     * Gets an unboxed conversion to double for the given class, which must be
+     * double, float or a type accepted by {@link #getLong(Class)}.
+     *
+     * @param type the class to convert to
+     * @return the conversion, which throws a {@link NumberFormatException}
+     *         for values which aren't of the type
+     * @throws IllegalArgumentException if the class can't be converted to a
+     *         double
+     */
+    public static ToDoubleFunction<Argument> getDouble(Class<?> type) {
+        if (type == double.class || type == Double.class) {
+            return Argument::asDouble;
+        } else if (type == float.class || type == Float.class) {
+            return Argument::asFloat;
+        }
+        ToLongFunction<Argument> narrower = getLong(type);
+        return narrower::applyAsLong;
+    }
+
+    /**
+     * Checks whether there is a converter for the given class.
+     *
+     * @param type the class to check
+     * @return whether there is a converter for the class
+     */
+    public static boolean has(Class<?> type) {
+        return CACHE.get(type) != null;
+    }
+
+    /**
+     * Finds the converter for the given class.
+     *
+     * @param type the class to find a converter for
+     * @return the converter, or {@code null} if there is none
+     */
+    private static Converter<?> resolve(Class<?> type) {
+        Converter<?> result = REGISTERED.get(type);
+        if (result == null) {
+            result = builtIn(type);
+        }
+        if (result == null && type.isEnum()) {
+            result = enumConverter(type);
+        }
+        if (result == null) {
+            result = reflective(type);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the built-in converter for the given class.
+     *
+     * @param type the class to convert to
+     * @return the converter, or {@code null} if there isn't a built-in one
+     */
+    private static Converter<?> builtIn(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return (Converter<Integer>) Argument::asInt;
+        } else if (type == long.class || type == Long.class) {
+            return (Converter<Long>) Argument::asLong;
+        } else if (type == double.class || type == Double.class) {
+            return (Converter<Double>) Argument::asDouble;
+        } else if (type == float.class || type == Float.class) {
+            return (Converter<Float>) Argument::asFloat;
+        } else if (type == short.class || type == Short.class) {
+            return (Converter<Short>) Argument::asShort;
+        } else if (type == byte.class || type == Byte.class) {
+            return (Converter<Byte>) Converters::asByte;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return (Converter<Boolean>) Argument::asBoolean;
+        } else if (type == char.class || type == Character.class) {
+            return (Converter<Character>) argument -> {
+                if (argument.length() != 1) {
+                    throw new IllegalArgumentException("Not a character: "
+                            + argument.get());
+                }
+                return argument.charAt(0);
+            };
+        } else if (type == String.class) {
+            return (Converter<String>) Argument::get;
+        } else if (type == Argument.class || type == CharSequence.class) {
+            return (Converter<Argument>) argument -> argument;
+        } else if (type == BigInteger.class) {
+            return (Converter<BigInteger>) argument -> new BigInteger(
+                    argument.get());
+        } else if (type == BigDecimal.class) {
+            return (Converter<BigDecimal>) argument -> new BigDecimal(
+                    argument.get());
+        }
+        return null;
+    }
+
+    /**
+     * Converts the given Argument to a byte.
+     *
+     * @param argument the Argument to convert
+     * @return the Argument's value as a byte
+     * @throws NumberFormatException if the value isn't a byte
+     */
+    private static byte asByte(Argument argument) {
+        int value = argument.asInt();
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range. Value:\""
+                    + argument.get() + "\" Radix:10");
+        }
+        return (byte) value;
+    }
+
+    /**
+     * Creates a converter for the given enum, matching its constants
+     * ignoring case.
+     *
+     * @param type the enum class
+     * @param <T> the enum type
+     * @return the converter
+     */
+    private static <T> Converter<T> enumConverter(Class<T> type) {
+        LiteralSet constants = LiteralSet.forEnumClass(type);
+        return argument -> {
+            int index = argument.indexIn(constants);
+            if (index == -1) {
+                throw new IllegalArgumentException("No constant of "
+                        + type.getSimpleName() + " named " + argument.get());
+            }
+            return type.cast(constants.constant(index));
+        };
+    }
+
+    /**
+     * Creates a converter for the given class from its public static {@code
+     * valueOf(String)} method or public constructor taking a String. This is
+     * the slow fallback when there's no registered or built-in converter, as
+     * every conversion is a reflective call with a new String.
+     *
+     * @param type the class to convert to
+     * @return the converter, or {@code null} if the class has neither
+     */
+    private static Converter<?> reflective(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers())
+                    && type.isAssignableFrom(valueOf.getReturnType())) {
+                return argument -> invoke(() -> valueOf.invoke(null,
+                        argument.get()));
+            }
+        } catch (NoSuchMethodException ignored) {
+        }
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor(String.class);
+            return argument -> invoke(() -> constructor.newInstance(
+                    argument.get()));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Calls a reflective converter, rethrowing what it throws.
+     *
+     * @param call the reflective call
+     * @return the result of the call
+     * @throws IllegalArgumentException if the call throws a checked
+     *         exception
+     */
+    private static Object invoke(ReflectiveCall call) {
+        try {
+            return call.call();
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalArgumentException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * A reflective method or constructor call.
+     */
+    @FunctionalInterface
+    private interface ReflectiveCall {
+        Object call() throws ReflectiveOperationException;
+    }
+
+    private Converters() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -23,8 +23,13 @@
  */
 package pw.ollie.args;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
- * A flag which simply has a name and a value.
+ * A flag which simply has a name and a value, or several values for flags
+ * declared to take more than one.
  */
 public final class Flag {
     /**
@@ -36,6 +41,10 @@ public final class Flag {
      * provides various methods to use the value.
      */
     private final Argument valArg;
+    /**
+     * All of the values of this flag, in order.
+     */
+    private final Argument[] values;
 
     /**
      * Constructs a new {@link Flag} with the given name and the given value.
@@ -44,8 +53,23 @@ public final class Flag {
      * @param value the value for the flag
      */
     public Flag(String name, Argument value) {
+        this(name, new Argument[] { value });
+    }
+
+    /**
+     * Constructs a new {@link Flag} with the given name and the given values.
+     *
+     * @param name the name of the flag
+     * @param values the values for the flag, in order
+     * @throws IllegalArgumentException if no values are given
+     */
+    public Flag(String name, Argument... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("A flag must have a value");
+        }
         this.name = name;
-        this.valArg = value;
+        this.valArg = values[0];
+        this.values = values;
     }
 
     /**
@@ -78,6 +102,17 @@ public final class Flag {
         return valArg;
     }
 
+    /**
+     * Gets the {@link Argument}s which represent all of the values provided
+     * for this flag, in order - for example, 'a' and 'b' in '-f a b' where
+     * 'f' is declared to take two values.
+     *
+     * @return an unmodifiable list of this flag's values
+     */
+    public List<Argument> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
     /**
      * Gets the raw {@link String} value which was provided for this flag. For
      * example, 'trees' in '-f trees'.
@@ -0,0 +1,59 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * The syntaxes which {@link Arguments} can use to recognise flags.
+ *
+ * @see Arguments#withSyntax(FlagSyntax)
+ */
+public enum FlagSyntax {
+    /**
+     * The default syntax. A token starting with -- is a flag with no value,
+     * and a token starting with - is a flag taking the following token as its
+     * value, unless it is the last token. The token -- is a normal argument.
+     */
+    SIMPLE,
+    /**
+     * GNU-style syntax, as accepted by getopt_long.
+     * <ul>
+     * <li>{@code --name=value} is a flag with the value after the =.</li>
+     * <li>{@code --name} is a flag with no value.</li>
+     * <li>{@code -x} is a flag taking the following token as its value,
+     * unless it is the last token, as with {@link #SIMPLE}.</li>
+     * <li>{@code -abc} is a cluster of the flags a, b and c, none of which
+     * have a value.</li>
+     * <li>The token {@code --} ends the flags, so every following token is a
+     * normal argument even if it starts with -. The -- itself is not a normal
+     * argument.</li>
+     * </ul>
+     *
+     * When parsing for a {@link pw.ollie.args.params.ParamsBase}, flags it
+     * declares take the declared amount of values. A flag in a cluster which
+     * takes values takes the rest of the token as its first value if there is
+     * any, so {@code -vofile} with o declared to take a value gives the flag v
+     * and the flag o with the value file.
+     */
+    GNU
+}
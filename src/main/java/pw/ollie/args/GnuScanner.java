@@ -0,0 +1,167 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * A table-driven state machine which recognises the forms of token allowed by
+ * {@link FlagSyntax#GNU}. Only the characters up to the end of a flag's name
+ * are examined, and the name and value are given as offsets within the token,
+ * so recognising a token never allocates.
+ */
+final class GnuScanner {
+    /**
+     * Result for a token which is a normal argument.
+     */
+    static final int POSITIONAL = 0;
+    /**
+     * Result for the token --, which ends the flags.
+     */
+    static final int TERMINATOR = 1;
+    /**
+     * Result for a token of the form --name.
+     */
+    static final int LONG = 2;
+    /**
+     * Result for a token of the form --name=value. The offset of the = from
+     * the start of the token is given by {@link #offset(int)}.
+     */
+    static final int LONG_VALUE = 3;
+    /**
+     * Result for a token of the form -abc, which is a cluster of short flags.
+     */
+    static final int SHORT = 4;
+
+    /**
+     * The amount of bits used for the kind of token in a result.
+     */
+    private static final int KIND_BITS = 3;
+    /**
+     * The mask for the kind of token in a result.
+     */
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    /**
+     * Character class for -.
+     */
+    private static final int DASH = 0;
+    /**
+     * Character class for =.
+     */
+    private static final int EQUALS = 1;
+    /**
+     * Character class for any other character.
+     */
+    private static final int OTHER = 2;
+
+    /**
+     * State at the start of a token.
+     */
+    private static final int START = 0;
+    /**
+     * State after a single -.
+     */
+    private static final int DASH_SEEN = 1;
+    /**
+     * State after --.
+     */
+    private static final int DOUBLE_DASH = 2;
+    /**
+     * State within the name of a long flag.
+     */
+    private static final int LONG_NAME = 3;
+    /**
+     * The first state from which the scan stops. States from here on are
+     * results plus this value.
+     */
+    private static final int FINAL = 4;
+
+    /**
+     * The next state for each state and character class, indexed by {@code
+     * state * 3 + class}.
+     */
+    private static final byte[] TRANSITIONS = {
+            // START: only a token starting with - may be a flag
+            DASH_SEEN, FINAL + POSITIONAL, FINAL + POSITIONAL,
+            // DASH_SEEN: a second - starts a long flag, else it's a cluster
+            DOUBLE_DASH, FINAL + SHORT, FINAL + SHORT,
+            // DOUBLE_DASH: a long flag's name can't be empty
+            LONG_NAME, FINAL + POSITIONAL, LONG_NAME,
+            // LONG_NAME: continue until an = is found
+            LONG_NAME, FINAL + LONG_VALUE, LONG_NAME
+    };
+    /**
+     * The result for each state if the end of the token is reached in it.
+     */
+    private static final byte[] AT_END = {
+            POSITIONAL, POSITIONAL, TERMINATOR, LONG
+    };
+
+    /**
+     * Recognises the given token.
+     *
+     * @param chars the characters containing the token
+     * @param start the start of the token, inclusive
+     * @param end the end of the token, exclusive
+     * @return the result, whose kind is given by {@link #kind(int)} and the
+     *         offset of the = for a {@link #LONG_VALUE} by {@link
+     *         #offset(int)}
+     */
+    static int scan(CharSequence chars, int start, int end) {
+        int state = START;
+        for (int i = start; i < end; i++) {
+            char ch = chars.charAt(i);
+            int type = ch == '-' ? DASH : ch == '=' ? EQUALS : OTHER;
+            state = TRANSITIONS[state * 3 + type];
+            if (state >= FINAL) {
+                return (i - start) << KIND_BITS | (state - FINAL);
+            }
+        }
+        return AT_END[state];
+    }
+
+    /**
+     * Gets the kind of token from a result of {@link #scan}.
+     *
+     * @param result the result
+     * @return the kind of token
+     */
+    static int kind(int result) {
+        return result & KIND_MASK;
+    }
+
+    /**
+     * Gets the offset from the start of the token of the = in a {@link
+     * #LONG_VALUE} result of {@link #scan}.
+     *
+     * @param result the result
+     * @return the offset of the =
+     */
+    static int offset(int result) {
+        return result >>> KIND_BITS;
+    }
+
+    private GnuScanner() {
+        throw new UnsupportedOperationException();
+    }
+}
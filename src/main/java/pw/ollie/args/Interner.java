@@ -0,0 +1,273 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Deduplicates Strings created from argument values, so that repeated values
+ * such as player names share one String instance. Unlike {@link
+ * String#intern()}, Interners don't use the JVM's global string table, so
+ * one-off values don't fill it up and threads don't contend on it.
+ *
+ * {@link #bounded(int)} creates a thread-safe Interner which holds a bounded
+ * amount of Strings, evicting older ones as new ones are added, and is
+ * suitable for sharing between threads for the life of an application.
+ * {@link #local()} creates an Interner for a single batch of parsing on a
+ * single thread, which keeps every String until it is discarded. The
+ * Interner used by {@link Argument#getIntern()} can be changed with {@link
+ * #setDefault(Interner)}.
+ *
+ * Interners may be implemented by extending this class. Implementations
+ * need not guarantee that equal values always give the same String, only
+ * that the String returned is equal to the value.
+ */
+public abstract class Interner {
+    /**
+     * The Interner used by {@link Argument#getIntern()}.
+     */
+    private static volatile Interner defaultInterner = bounded(1 << 12);
+
+    /**
+     * Gets the Interner used by {@link Argument#getIntern()}, which is a
+     * {@link #bounded(int)} Interner holding up to 4096 Strings unless it has
+     * been changed.
+     *
+     * @return the default Interner
+     */
+    public static Interner getDefault() {
+        return defaultInterner;
+    }
+
+    /**
+     * Sets the Interner used by {@link Argument#getIntern()}.
+     *
+     * @param interner the new default Interner
+     */
+    public static void setDefault(Interner interner) {
+        if (interner == null) {
+            throw new IllegalArgumentException();
+        }
+        defaultInterner = interner;
+    }
+
+    /**
+     * Creates a thread-safe Interner which holds up to the given amount of
+     * Strings. Lookups and insertions never lock; when the table is full, new
+     * Strings replace the least recently added String with a similar hash.
+     *
+     * @param capacity the maximum amount of Strings to hold
+     * @return a new bounded Interner
+     */
+    public static Interner bounded(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        return new Bounded(capacity);
+    }
+
+    /**
+     * Creates an Interner for use by a single thread, which holds every
+     * String it is given until it is discarded, for example while parsing a
+     * batch of lines.
+     *
+     * @return a new local Interner
+     */
+    public static Interner local() {
+        return new Local();
+    }
+
+    /**
+     * Gets a String equal to the given range of characters, reusing a String
+     * held by this Interner if possible.
+     *
+     * @param chars the characters containing the value
+     * @param start the start of the value, inclusive
+     * @param end the end of the value, exclusive
+     * @return a String equal to the value
+     */
+    public abstract String intern(CharSequence chars, int start, int end);
+
+    /**
+     * Gets a String equal to the given characters, reusing a String held by
+     * this Interner if possible.
+     *
+     * @param chars the characters to intern
+     * @return a String equal to the characters
+     */
+    public final String intern(CharSequence chars) {
+        return intern(chars, 0, chars.length());
+    }
+
+    /**
+     * Calculates the hash code a String of the given range of characters
+     * would have, with its bits spread for use as a table index.
+     *
+     * @param chars the characters to hash
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the spread hash of the range
+     */
+    static int hash(CharSequence chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    /**
+     * Checks whether the given String is equal to the given range of
+     * characters.
+     *
+     * @param string the String to compare, which may be {@code null}
+     * @param chars the characters to compare to
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return whether the String is equal to the range
+     */
+    static boolean matches(String string, CharSequence chars, int start,
+            int end) {
+        if (string == null || string.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (string.charAt(i - start) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a String of the given range of characters, without copying
+     * when the characters are a String containing only the range.
+     *
+     * @param chars the characters containing the value
+     * @param start the start of the value, inclusive
+     * @param end the end of the value, exclusive
+     * @return a String of the range
+     */
+    static String create(CharSequence chars, int start, int end) {
+        if (chars instanceof String && start == 0 && end == chars.length()) {
+            return (String) chars;
+        }
+        return chars.subSequence(start, end).toString();
+    }
+
+    /**
+     * A thread-safe, bounded Interner. The table is split into pairs of
+     * slots, and a value can only be held in the pair its hash leads to, with
+     * the most recently added String first. Adding a String to a full pair
+     * evicts the older String. Races between threads can at worst lose an
+     * insertion, which only means a later lookup creates a new String.
+     */
+    private static final class Bounded extends Interner {
+        /**
+         * The slots of the table, in pairs.
+         */
+        private final AtomicReferenceArray<String> slots;
+        /**
+         * The mask giving the first slot of a pair from a hash.
+         */
+        private final int mask;
+
+        Bounded(int capacity) {
+            int size = Math.max(Integer.highestOneBit(capacity - 1) << 1, 2);
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 2;
+        }
+
+        @Override
+        public String intern(CharSequence chars, int start, int end) {
+            int slot = (hash(chars, start, end) >>> 1) & mask;
+            String first = slots.get(slot);
+            if (matches(first, chars, start, end)) {
+                return first;
+            }
+            String second = slots.get(slot + 1);
+            if (matches(second, chars, start, end)) {
+                return second;
+            }
+            String result = create(chars, start, end);
+            if (first != null) {
+                slots.lazySet(slot + 1, first);
+            }
+            slots.lazySet(slot, result);
+            return result;
+        }
+    }
+
+    /**
+     * An unbounded Interner for a single thread, using an open-addressed
+     * table which grows as Strings are added.
+     */
+    private static final class Local extends Interner {
+        /**
+         * The table of Strings, with {@code null} for empty slots.
+         */
+        private String[] table = new String[16];
+        /**
+         * The amount of Strings in the table.
+         */
+        private int size;
+
+        @Override
+        public String intern(CharSequence chars, int start, int end) {
+            int mask = table.length - 1;
+            int slot = hash(chars, start, end) & mask;
+            String current;
+            while ((current = table[slot]) != null) {
+                if (matches(current, chars, start, end)) {
+                    return current;
+                }
+                slot = (slot + 1) & mask;
+            }
+            String result = create(chars, start, end);
+            table[slot] = result;
+            if (++size * 2 > table.length) {
+                grow();
+            }
+            return result;
+        }
+
+        /**
+         * Doubles the size of the table.
+         */
+        private void grow() {
+            String[] old = table;
+            table = new String[old.length * 2];
+            int mask = table.length - 1;
+            for (String string : old) {
+                if (string != null) {
+                    int slot = hash(string, 0, string.length()) & mask;
+                    while (table[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = string;
+                }
+            }
+        }
+    }
+}
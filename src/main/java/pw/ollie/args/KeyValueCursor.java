@@ -0,0 +1,182 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the key/value pairs in an {@link Argument}'s value, such as
+ * {@code k1=v1;k2=v2}. Pairs are found by scanning the value as the cursor is
+ * advanced, and keys and values are only turned into {@link Argument}s when
+ * they are read, sharing the value's characters. A pair without a key/value
+ * separator has an empty value.
+ *
+ * <pre>
+ * KeyValueCursor cursor = arg.pairs(';', '=');
+ * while (cursor.next()) {
+ *     if (cursor.keyEquals("radius")) {
+ *         radius = cursor.value().asInt();
+ *     }
+ * }
+ * </pre>
+ *
+ * KeyValueCursors are not thread-safe.
+ *
+ * @see Argument#pairs(char, char)
+ */
+public final class KeyValueCursor {
+    /**
+     * The characters containing the value.
+     */
+    private final CharSequence chars;
+    /**
+     * The end of the value in {@link #chars}, exclusive.
+     */
+    private final int end;
+    /**
+     * The character separating pairs.
+     */
+    private final char pairSeparator;
+    /**
+     * The character separating a key from its value.
+     */
+    private final char valueSeparator;
+    /**
+     * The start of the next pair, or {@code end + 1} if there are no more.
+     */
+    private int position;
+    /**
+     * The start of the current key, or -1 before the first pair.
+     */
+    private int keyStart = -1;
+    /**
+     * The end of the current key, exclusive.
+     */
+    private int keyEnd;
+    /**
+     * The start of the current value.
+     */
+    private int valueStart;
+    /**
+     * The end of the current value, exclusive.
+     */
+    private int valueEnd;
+
+    KeyValueCursor(CharSequence chars, int start, int end, char pairSeparator,
+            char valueSeparator) {
+        this.chars = chars;
+        this.end = end;
+        this.pairSeparator = pairSeparator;
+        this.valueSeparator = valueSeparator;
+        this.position = start < end ? start : end + 1;
+    }
+
+    /**
+     * Moves this cursor to the next pair.
+     *
+     * @return whether there was another pair
+     */
+    public boolean next() {
+        if (position > end) {
+            keyStart = -1;
+            return false;
+        }
+        int i = keyStart = position;
+        while (i < end && chars.charAt(i) != pairSeparator
+                && chars.charAt(i) != valueSeparator) {
+            i++;
+        }
+        keyEnd = i;
+        if (i < end && chars.charAt(i) == valueSeparator) {
+            i++;
+        }
+        valueStart = i;
+        while (i < end && chars.charAt(i) != pairSeparator) {
+            i++;
+        }
+        valueEnd = i;
+        position = i + 1;
+        return true;
+    }
+
+    /**
+     * Gets the key of the current pair.
+     *
+     * @return the current key
+     * @throws NoSuchElementException if the cursor isn't on a pair
+     */
+    public Argument key() {
+        checkPair();
+        return new Argument(chars, keyStart, keyEnd);
+    }
+
+    /**
+     * Gets the value of the current pair.
+     *
+     * @return the current value
+     * @throws NoSuchElementException if the cursor isn't on a pair
+     */
+    public Argument value() {
+        checkPair();
+        return new Argument(chars, valueStart, valueEnd);
+    }
+
+    /**
+     * Checks whether the key of the current pair is equal to the given
+     * characters, ignoring case, without creating any objects.
+     *
+     * @param key the key to compare to
+     * @return whether the current key is equal to the characters
+     * @throws NoSuchElementException if the cursor isn't on a pair
+     */
+    public boolean keyEquals(CharSequence key) {
+        checkPair();
+        return key.length() == keyEnd - keyStart
+                && Chars.regionMatchesIgnoreCase(chars, keyStart, key, 0,
+                keyEnd - keyStart);
+    }
+
+    /**
+     * Checks whether the current pair has a key/value separator, so that
+     * {@code key} can be told apart from {@code key=}.
+     *
+     * @return whether the current pair has a separator
+     * @throws NoSuchElementException if the cursor isn't on a pair
+     */
+    public boolean hasValue() {
+        checkPair();
+        return valueStart != keyEnd;
+    }
+
+    /**
+     * Throws an exception if this cursor isn't on a pair.
+     *
+     * @throws NoSuchElementException if the cursor isn't on a pair
+     */
+    private void checkPair() {
+        if (keyStart < 0) {
+            throw new NoSuchElementException();
+        }
+    }
+}
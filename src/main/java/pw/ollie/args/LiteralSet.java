@@ -0,0 +1,365 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of literal strings, such as the options {@code on} and
+ * {@code off}, which arguments can be matched against ignoring case.
+ *
+ * When a LiteralSet is created, a collision-free (perfect) hash table of the
+ * literals is built using hash and displace: literals are grouped into
+ * buckets by their hash, and each bucket is given a displacement which moves
+ * all of its literals into free slots. Matching an argument is therefore a
+ * single hash of its characters followed by a single comparison, without
+ * creating any Strings or throwing any exceptions.
+ *
+ * @see Argument#indexIn(LiteralSet)
+ * @see Argument#asEnum(Class)
+ */
+public final class LiteralSet {
+    /**
+     * The sets of enum constant names for each enum class, created when first
+     * requested.
+     */
+    private static final ClassValue<LiteralSet> ENUMS =
+            new ClassValue<LiteralSet>() {
+                @Override
+                protected LiteralSet computeValue(Class<?> type) {
+                    Object[] constants = type.getEnumConstants();
+                    String[] names = new String[constants.length];
+                    for (int i = 0; i < names.length; i++) {
+                        names[i] = ((Enum<?>) constants[i]).name();
+                    }
+                    return new LiteralSet(names, constants);
+                }
+            };
+    /**
+     * The amount of displacements to try for a bucket before choosing a new
+     * hash function.
+     */
+    private static final int MAX_DISPLACEMENT = 1 << 12;
+
+    /**
+     * The literals in this set, in the order they were given.
+     */
+    private final String[] literals;
+    /**
+     * The enum constant for each literal, or {@code null} if this isn't a set
+     * of enum constant names.
+     */
+    private final Object[] constants;
+    /**
+     * The table of literals. Each slot contains the index of the literal
+     * whose hash leads to the slot plus one, or zero if no literal does.
+     */
+    private final int[] table;
+    /**
+     * The displacement of each bucket, which is added to the hashes of the
+     * literals in it to find their slots in {@link #table}.
+     */
+    private final int[] displacements;
+    /**
+     * The multiplier used to hash characters, chosen so that the literals can
+     * be placed in {@link #table}.
+     */
+    private final int multiplier;
+
+    /**
+     * Creates a new LiteralSet containing the given literals.
+     *
+     * @param literals the literals in the set
+     * @param constants the enum constant for each literal, or {@code null}
+     * @throws IllegalArgumentException if any literals are equal ignoring
+     *         case
+     */
+    private LiteralSet(String[] literals, Object[] constants) {
+        this.literals = literals;
+        this.constants = constants;
+
+        this.table = new int[Chars.tableCapacity(literals.length)];
+        this.displacements = new int[Math.max(table.length >> 1, 1)];
+        int[] hashes = new int[literals.length];
+        int seed = 31;
+        while (!place(hashes, seed)) {
+            // the next odd multiplier, spread out so that consecutive seeds
+            // hash differently
+            seed = (seed + 0x9E3779B9) | 1;
+        }
+        this.multiplier = seed;
+    }
+
+    /**
+     * Creates a LiteralSet containing the given literals.
+     *
+     * @param literals the literals in the set
+     * @return a LiteralSet containing the given literals
+     * @throws IllegalArgumentException if any literals are {@code null} or
+     *         any are equal ignoring case
+     */
+    public static LiteralSet of(String... literals) {
+        String[] copy = literals.clone();
+        for (String literal : copy) {
+            if (literal == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new LiteralSet(copy, null);
+    }
+
+    /**
+     * Gets the LiteralSet containing the names of the constants of the given
+     * enum, in the order they are declared. The set is only created once for
+     * each enum.
+     *
+     * @param type the class of the enum
+     * @return a LiteralSet containing the names of the enum's constants
+     * @throws IllegalArgumentException if any of the names are equal ignoring
+     *         case
+     */
+    public static LiteralSet forEnum(Class<? extends Enum<?>> type) {
+        return ENUMS.get(type);
+    }
+
+    /**
+     * Gets the LiteralSet containing the names of the constants of the given
+     * enum, as with {@link #forEnum(Class)}, for callers which only know that
+     * the class is an enum at runtime.
+     *
+     * @param type the class of the enum, which must be an enum
+     * @return a LiteralSet containing the names of the enum's constants
+     */
+    static LiteralSet forEnumClass(Class<?> type) {
+        return ENUMS.get(type);
+    }
+
+    /**
+     * Gets the index of the literal which is equal to the given characters,
+     * ignoring case.
+     *
+     * @param chars the characters to look for
+     * @return the index of the matching literal, or -1 if there is none
+     */
+    public int indexOf(CharSequence chars) {
+        return indexOf(chars, 0, chars.length());
+    }
+
+    /**
+     * Checks whether this set contains a literal which is equal to the given
+     * characters, ignoring case.
+     *
+     * @param chars the characters to look for
+     * @return whether this set contains a matching literal
+     */
+    public boolean contains(CharSequence chars) {
+        return indexOf(chars) != -1;
+    }
+
+    /**
+     * Gets the literal at the given index.
+     *
+     * @param index the index of the literal
+     * @return the literal at the given index
+     */
+    public String get(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Gets the amount of literals in this set.
+     *
+     * @return the amount of literals in this set
+     */
+    public int size() {
+        return literals.length;
+    }
+
+    /**
+     * Gets the index of the literal which is equal to the given range of
+     * characters, ignoring case.
+     *
+     * @param chars the characters to look for
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the index of the matching literal, or -1 if there is none
+     */
+    int indexOf(CharSequence chars, int start, int end) {
+        int hash = hash(chars, start, end, multiplier);
+        int displacement = displacements[hash & (displacements.length - 1)];
+        int entry = table[slot(hash, displacement)];
+        if (entry == 0) {
+            return -1;
+        }
+        String literal = literals[entry - 1];
+        int length = literal.length();
+        return end - start == length && Chars.regionMatchesIgnoreCase(chars,
+                start, literal, 0, length) ? entry - 1 : -1;
+    }
+
+    /**
+     * Gets the enum constant at the given index, if this is a set of enum
+     * constant names.
+     *
+     * @param index the index of the constant
+     * @return the constant
+     */
+    Object constant(int index) {
+        return constants[index];
+    }
+
+    /**
+     * Tries to place the literals in {@link #table} using the given
+     * multiplier to hash them, filling in {@link #displacements}.
+     *
+     * @param hashes space for the hash of each literal
+     * @param seed the multiplier to hash with
+     * @return whether all the literals were placed
+     * @throws IllegalArgumentException if any literals are equal ignoring
+     *         case
+     */
+    private boolean place(int[] hashes, int seed) {
+        Arrays.fill(table, 0);
+        Arrays.fill(displacements, 0);
+        int bucketMask = displacements.length - 1;
+
+        // group the literals by bucket
+        int[] bucketSizes = new int[displacements.length];
+        int largest = 0;
+        for (int i = 0; i < literals.length; i++) {
+            String literal = literals[i];
+            hashes[i] = hash(literal, 0, literal.length(), seed);
+            largest = Math.max(largest, ++bucketSizes[hashes[i] & bucketMask]);
+        }
+        int[] bucketStarts = new int[displacements.length + 1];
+        for (int b = 0; b < displacements.length; b++) {
+            bucketStarts[b + 1] = bucketStarts[b] + bucketSizes[b];
+        }
+        int[] order = new int[literals.length];
+        int[] filled = new int[displacements.length];
+        for (int i = 0; i < literals.length; i++) {
+            int bucket = hashes[i] & bucketMask;
+            order[bucketStarts[bucket] + filled[bucket]++] = i;
+        }
+
+        // place the largest buckets first, while the table is emptiest
+        int[] slots = new int[largest];
+        for (int size = largest; size > 0; size--) {
+            for (int b = 0; b < displacements.length; b++) {
+                if (bucketSizes[b] == size && !placeBucket(hashes, order,
+                        bucketStarts[b], size, b, slots)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tries to find a displacement which places all of the literals in the
+     * given bucket in free slots of {@link #table}, and places them.
+     *
+     * @param hashes the hash of each literal
+     * @param order the literals grouped by bucket
+     * @param start the offset of the bucket's literals in the order
+     * @param size the amount of literals in the bucket
+     * @param bucket the index of the bucket
+     * @param slots space for the slot of each literal in the bucket
+     * @return whether the literals were placed
+     * @throws IllegalArgumentException if any literals in the bucket are
+     *         equal ignoring case
+     */
+    private boolean placeBucket(int[] hashes, int[] order, int start,
+            int size, int bucket, int[] slots) {
+        for (int i = start; i < start + size; i++) {
+            for (int j = start; j < i; j++) {
+                if (hashes[order[i]] == hashes[order[j]]) {
+                    String a = literals[order[i]];
+                    String b = literals[order[j]];
+                    if (a.equalsIgnoreCase(b)) {
+                        throw new IllegalArgumentException("Literals " + b
+                                + " and " + a + " are equal ignoring case");
+                    }
+                    // no displacement can separate these
+                    return false;
+                }
+            }
+        }
+
+        search:
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT;
+                displacement++) {
+            for (int i = 0; i < size; i++) {
+                int slot = slot(hashes[order[start + i]], displacement);
+                if (table[slot] != 0) {
+                    continue search;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        continue search;
+                    }
+                }
+                slots[i] = slot;
+            }
+            for (int i = 0; i < size; i++) {
+                table[slots[i]] = order[start + i] + 1;
+            }
+            displacements[bucket] = displacement;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the slot in {@link #table} for the given hash and displacement.
+     *
+     * @param hash the hash of the literal
+     * @param displacement the displacement of the literal's bucket
+     * @return the index of the slot
+     */
+    private int slot(int hash, int displacement) {
+        int mixed = (hash + displacement) * 0x85EBCA6B;
+        return (mixed ^ (mixed >>> 13)) & (table.length - 1);
+    }
+
+    /**
+     * Hashes the given range of characters ignoring case, using the given
+     * multiplier.
+     *
+     * @param chars the characters to hash
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param multiplier the multiplier to hash with
+     * @return the hash
+     */
+    private static int hash(CharSequence chars, int start, int end,
+            int multiplier) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = hash * multiplier + Chars.fold(chars.charAt(i));
+        }
+        hash = (hash ^ (hash >>> 16)) * 0x9E3779B9;
+        return hash ^ (hash >>> 15);
+    }
+}
@@ -0,0 +1,707 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * Numeric parsing which works directly on a range of characters, so values can
+ * be parsed from arguments which haven't been turned into Strings.
+ */
+final class Numbers {
+    /**
+     * The powers of ten which are exactly representable as doubles.
+     */
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * The powers of ten which are exactly representable as floats.
+     */
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Parses the given range of characters as a decimal integer, accepting
+     * exactly the same input as {@link Long#parseLong(String)} but limited to
+     * the given bounds.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param min the minimum allowed value
+     * @param max the maximum allowed value
+     * @return the parsed value
+     * @throws NumberFormatException if the range isn't an integer within the
+     *         given bounds
+     */
+    static long parseLong(CharSequence chars, int start, int end, long min,
+            long max) {
+        long result = parseLong(chars, start, end, min, max, Long.MIN_VALUE);
+        if (result == Long.MIN_VALUE && (min != Long.MIN_VALUE
+                || !isLong(chars, start, end, min, max))) {
+            throw forInput(chars, start, end);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the given range of characters is a decimal integer
+     * within the given bounds, as accepted by {@link #parseLong(CharSequence,
+     * int, int, long, long)}.
+     *
+     * @param chars the characters to check
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param min the minimum allowed value
+     * @param max the maximum allowed value
+     * @return whether the range is an integer within the given bounds
+     */
+    static boolean isLong(CharSequence chars, int start, int end, long min,
+            long max) {
+        // no value is equal to both fallbacks, so the range is an integer if
+        // either one isn't returned
+        return parseLong(chars, start, end, min, max, 0) != 0
+                || parseLong(chars, start, end, min, max, 1) != 1;
+    }
+
+    /**
+     * Parses the given range of characters as a decimal integer as with
+     * {@link #parseLong(CharSequence, int, int, long, long)}, but returns the
+     * given fallback instead of throwing an exception if it isn't one.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param min the minimum allowed value
+     * @param max the maximum allowed value
+     * @param fallback the value to return if the range isn't an integer
+     *        within the given bounds
+     * @return the parsed value, or the fallback
+     */
+    static long parseLong(CharSequence chars, int start, int end, long min,
+            long max, long fallback) {
+        if (start >= end) {
+            return fallback;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char first = chars.charAt(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+            } else if (first != '+') {
+                return fallback;
+            }
+            if (++i == end) {
+                // a sign on its own
+                return fallback;
+            }
+        }
+
+        // accumulate negatively, as the negative range is the larger one
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = digit(chars.charAt(i));
+            if (digit < 0 || result < multmin) {
+                return fallback;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return fallback;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Checks whether the given range of characters is a floating point number
+     * as accepted by {@link Double#parseDouble(String)}.
+     *
+     * @param chars the characters to check
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return whether the range is a floating point number
+     */
+    static boolean isDouble(CharSequence chars, int start, int end) {
+        // as with isLong, no value is equal to both fallbacks
+        return parseDouble(chars, start, end, false, 0) != 0
+                || parseDouble(chars, start, end, false, 1) != 1;
+    }
+
+    /**
+     * Checks whether the given range of characters is {@code NaN}, which is
+     * the only input for which {@link #parseDouble(CharSequence, int, int,
+     * boolean, double)} returns NaN rather than its fallback. Only the
+     * whitespace and sign around the value are skipped, so this doesn't scan
+     * the whole range.
+     *
+     * @param chars the characters to check
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return whether the range is NaN, as accepted by {@link
+     *         Double#parseDouble(String)}
+     */
+    static boolean isNaN(CharSequence chars, int start, int end) {
+        while (start < end && chars.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && chars.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start < end && (chars.charAt(start) == '-'
+                || chars.charAt(start) == '+')) {
+            start++;
+        }
+        return matches(chars, start, end, "NaN");
+    }
+
+    /**
+     * Parses the given range of characters as a floating point number,
+     * accepting exactly the same input as {@link Double#parseDouble(String)},
+     * or {@link Float#parseFloat(String)} if {@code single} is set. The given
+     * fallback is returned instead of throwing an exception if the range
+     * isn't a number.
+     *
+     * The input is validated by a scan of the characters. Decimal numbers
+     * with at most 15 significant digits (7 for floats) and a small enough
+     * exponent are converted exactly without creating a String, as the
+     * mantissa and power of ten are both exactly representable so a single
+     * multiplication or division is correctly rounded (Clinger's fast path).
+     * Other numbers are passed to the JDK, which can no longer fail as the
+     * input is already known to be valid.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param single whether to parse a float rather than a double
+     * @param fallback the value to return if the range isn't a number
+     * @return the parsed value, or the fallback
+     */
+    static double parseDouble(CharSequence chars, int start, int end,
+            boolean single, double fallback) {
+        // leading and trailing whitespace is ignored, as with String.trim()
+        while (start < end && chars.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && chars.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return fallback;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char ch = chars.charAt(i);
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            if (++i == end) {
+                return fallback;
+            }
+            ch = chars.charAt(i);
+        }
+        if (ch == 'N') {
+            return matches(chars, i, end, "NaN") ? Double.NaN : fallback;
+        }
+        if (ch == 'I') {
+            return matches(chars, i, end, "Infinity") ? negative
+                    ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY
+                    : fallback;
+        }
+        if (ch == '0' && i + 1 < end && (chars.charAt(i + 1) == 'x'
+                || chars.charAt(i + 1) == 'X')) {
+            return isHex(chars, i + 2, end)
+                    ? slowParse(chars, start, end, single) : fallback;
+        }
+
+        // the first 19 significant digits, which always fit in a long
+        long mantissa = 0;
+        int digits = 0;
+        // whether any significant digits were dropped
+        boolean truncated = false;
+        // whether there were any digits at all, including leading zeros
+        boolean anyDigits = false;
+        int exponent = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            ch = chars.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                anyDigits = true;
+                if (mantissa == 0 && ch == '0') {
+                    // a leading zero
+                    if (point) {
+                        exponent--;
+                    }
+                } else if (digits < 19) {
+                    mantissa = mantissa * 10 + (ch - '0');
+                    digits++;
+                    if (point) {
+                        exponent--;
+                    }
+                } else {
+                    truncated |= ch != '0';
+                    if (!point) {
+                        exponent++;
+                    }
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigits) {
+            return fallback;
+        }
+
+        if (i < end && (ch == 'e' || ch == 'E')) {
+            if (++i == end) {
+                return fallback;
+            }
+            ch = chars.charAt(i);
+            boolean negativeExponent = ch == '-';
+            if (ch == '-' || ch == '+') {
+                if (++i == end) {
+                    return fallback;
+                }
+            }
+            int exponentStart = i;
+            int value = 0;
+            for (; i < end; i++) {
+                ch = chars.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                // saturate, as any larger exponent overflows anyway
+                if (value < 100_000) {
+                    value = value * 10 + (ch - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return fallback;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i < end) {
+            // only a type suffix may follow the number
+            ch = chars.charAt(i);
+            if (i != end - 1 || (ch != 'f' && ch != 'F' && ch != 'd'
+                    && ch != 'D')) {
+                return fallback;
+            }
+        }
+
+        double result;
+        if (truncated) {
+            result = slowParse(chars, start, end, single);
+        } else if (single && digits <= 7 && exponent >= -10
+                && exponent <= 10) {
+            float value = mantissa;
+            value = exponent < 0 ? value / FLOAT_POWERS[-exponent]
+                    : value * FLOAT_POWERS[exponent];
+            result = negative ? -value : value;
+        } else if (!single && digits <= 15 && exponent >= -22
+                && exponent <= 22) {
+            double value = mantissa;
+            value = exponent < 0 ? value / DOUBLE_POWERS[-exponent]
+                    : value * DOUBLE_POWERS[exponent];
+            result = negative ? -value : value;
+        } else if (mantissa == 0) {
+            result = negative ? -0.0 : 0.0;
+        } else {
+            result = slowParse(chars, start, end, single);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the given range of characters is the rest of a
+     * hexadecimal floating point number after the 0x, such as {@code 1.8p3}.
+     *
+     * @param chars the characters to check
+     * @param i the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return whether the range is the rest of a hexadecimal number
+     */
+    private static boolean isHex(CharSequence chars, int i, int end) {
+        boolean anyDigits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char ch = chars.charAt(i);
+            if (Character.digit(ch, 16) >= 0 && ch < 0x80) {
+                anyDigits = true;
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigits || i == end || (chars.charAt(i) != 'p'
+                && chars.charAt(i) != 'P')) {
+            return false;
+        }
+        if (++i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+            i++;
+        }
+        int exponentStart = i;
+        while (i < end && chars.charAt(i) >= '0' && chars.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == exponentStart) {
+            return false;
+        }
+        if (i == end) {
+            return true;
+        }
+        char ch = chars.charAt(i);
+        return i == end - 1
+                && (ch == 'f' || ch == 'F' || ch == 'd' || ch == 'D');
+    }
+
+    /**
+     * Checks whether the given range of characters is exactly the given
+     * String.
+     *
+     * @param chars the characters to check
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param string the String to compare to
+     * @return whether the range is equal to the String
+     */
+    private static boolean matches(CharSequence chars, int start, int end,
+            String string) {
+        if (end - start != string.length()) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (chars.charAt(start + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the given range of characters, which must already be known to be
+     * a valid floating point number, using the JDK.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param single whether to parse a float rather than a double
+     * @return the parsed value
+     */
+    private static double slowParse(CharSequence chars, int start, int end,
+            boolean single) {
+        String string = chars.subSequence(start, end).toString();
+        return single ? Float.parseFloat(string) : Double.parseDouble(string);
+    }
+
+    /**
+     * Parses the given range of characters as an integer which may have a
+     * radix prefix - 0x for hexadecimal, 0o for octal or 0b for binary - and
+     * may have underscores between digits, as in Java source code. For
+     * example, {@code 0x1F}, {@code -0b1010} and {@code 1_000_000}.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param fallback the value to return if the range isn't such an integer
+     *        within the range of a long
+     * @return the parsed value, or the fallback
+     */
+    static long parseRadix(CharSequence chars, int start, int end,
+            long fallback) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+            negative = chars.charAt(i++) == '-';
+        }
+        int radix = 10;
+        if (end - i > 2 && chars.charAt(i) == '0') {
+            char prefix = chars.charAt(i + 1);
+            radix = prefix == 'x' || prefix == 'X' ? 16
+                    : prefix == 'o' || prefix == 'O' ? 8
+                    : prefix == 'b' || prefix == 'B' ? 2 : 10;
+            if (radix != 10) {
+                i += 2;
+            }
+        }
+
+        // accumulate negatively, as in parseLong
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / radix;
+        long result = 0;
+        // whether the last character was a digit - underscores may only be
+        // between digits, so the digits must start and end with one
+        boolean afterDigit = false;
+        int digits = 0;
+        for (; i < end; i++) {
+            char ch = chars.charAt(i);
+            if (ch == '_') {
+                if (!afterDigit && digits == 0) {
+                    return fallback;
+                }
+                afterDigit = false;
+                continue;
+            }
+            int digit = ch < 0x80 ? Character.digit(ch, radix) : -1;
+            if (digit < 0 || result < multmin) {
+                return fallback;
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                return fallback;
+            }
+            result -= digit;
+            afterDigit = true;
+            digits++;
+        }
+        if (!afterDigit) {
+            // no digits, or ends with an underscore
+            return fallback;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the given range of characters as an amount of bytes, which is a
+     * non-negative integer optionally followed by a binary unit - k, m, g, t,
+     * p or e, for multiples of 1024, in either case and optionally followed
+     * by b or ib. For example, {@code 512}, {@code 64k}, {@code 2G} and
+     * {@code 10MiB}. A b on its own is also accepted.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the amount of bytes, or -1 if the range isn't a valid amount
+     *         which fits in a long
+     */
+    static long parseByteSize(CharSequence chars, int start, int end) {
+        int i = start;
+        long value = 0;
+        while (i < end) {
+            char ch = chars.charAt(i);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            if (value > (Long.MAX_VALUE - (ch - '0')) / 10) {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+            i++;
+        }
+        if (i == start) {
+            return -1;
+        }
+        if (i == end) {
+            return value;
+        }
+
+        int shift;
+        switch (Chars.fold(chars.charAt(i))) {
+            case 'b':
+                // bytes, with nothing after
+                return i + 1 == end ? value : -1;
+            case 'k':
+                shift = 10;
+                break;
+            case 'm':
+                shift = 20;
+                break;
+            case 'g':
+                shift = 30;
+                break;
+            case 't':
+                shift = 40;
+                break;
+            case 'p':
+                shift = 50;
+                break;
+            case 'e':
+                shift = 60;
+                break;
+            default:
+                return -1;
+        }
+        i++;
+        if (i < end && Chars.fold(chars.charAt(i)) == 'i') {
+            // kib, mib and so on, which must end with b
+            if (++i == end) {
+                return -1;
+            }
+        }
+        if (i < end && Chars.fold(chars.charAt(i)) == 'b') {
+            i++;
+        }
+        if (i != end || value > Long.MAX_VALUE >> shift) {
+            return -1;
+        }
+        return value << shift;
+    }
+
+    /**
+     * Parses the given range of characters as a duration in nanoseconds. A
+     * duration is an optional sign followed by one or more numbers, each with
+     * a unit - ns, us (or &micro;s), ms, s, m, h or d. The numbers may have
+     * fractional parts. For example, {@code 30s}, {@code 5m30s}, {@code
+     * 1.5h} and {@code 250ms}.
+     *
+     * @param chars the characters to parse
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the duration in nanoseconds, or {@link Long#MIN_VALUE} if the
+     *         range isn't a valid duration which fits in a long (a valid
+     *         duration is never {@link Long#MIN_VALUE})
+     */
+    static long parseDuration(CharSequence chars, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+            negative = chars.charAt(i++) == '-';
+        }
+        if (i == end) {
+            return Long.MIN_VALUE;
+        }
+
+        long total = 0;
+        while (i < end) {
+            // the whole part
+            long whole = 0;
+            int numberStart = i;
+            char ch = 0;
+            for (; i < end; i++) {
+                ch = chars.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                if (whole > (Long.MAX_VALUE - (ch - '0')) / 10) {
+                    return Long.MIN_VALUE;
+                }
+                whole = whole * 10 + (ch - '0');
+            }
+            boolean anyDigits = i > numberStart;
+            // the fractional part, kept as digits to scale by the unit
+            int fractionStart = -1;
+            int fractionEnd = -1;
+            if (i < end && ch == '.') {
+                fractionStart = ++i;
+                while (i < end && chars.charAt(i) >= '0'
+                        && chars.charAt(i) <= '9') {
+                    i++;
+                }
+                fractionEnd = i;
+                anyDigits |= fractionEnd > fractionStart;
+            }
+            if (!anyDigits || i == end) {
+                // a number needs digits and a unit
+                return Long.MIN_VALUE;
+            }
+
+            long unit;
+            ch = chars.charAt(i);
+            char next = i + 1 < end ? chars.charAt(i + 1) : 0;
+            if (ch == 'n' && next == 's') {
+                unit = 1L;
+                i += 2;
+            } else if ((ch == 'u' || ch == '\u00b5' || ch == '\u03bc')
+                    && next == 's') {
+                unit = 1_000L;
+                i += 2;
+            } else if (ch == 'm' && next == 's') {
+                unit = 1_000_000L;
+                i += 2;
+            } else if (ch == 's') {
+                unit = 1_000_000_000L;
+                i++;
+            } else if (ch == 'm') {
+                unit = 60_000_000_000L;
+                i++;
+            } else if (ch == 'h') {
+                unit = 3_600_000_000_000L;
+                i++;
+            } else if (ch == 'd') {
+                unit = 86_400_000_000_000L;
+                i++;
+            } else {
+                return Long.MIN_VALUE;
+            }
+
+            if (whole > Long.MAX_VALUE / unit) {
+                return Long.MIN_VALUE;
+            }
+            long nanos = whole * unit;
+            // each fractional digit is worth a tenth of the one before, which
+            // stays exact for as many digits as the unit has factors of ten
+            long scale = unit;
+            for (int f = fractionStart; f < fractionEnd && scale > 0; f++) {
+                scale /= 10;
+                nanos += (chars.charAt(f) - '0') * scale;
+            }
+            if (nanos < 0 || total > Long.MAX_VALUE - nanos) {
+                return Long.MIN_VALUE;
+            }
+            total += nanos;
+        }
+        return negative ? -total : total;
+    }
+
+    /**
+     * Gets the decimal value of the given digit, as {@link
+     * Character#digit(char, int)} does with a radix of 10.
+     *
+     * @param ch the digit
+     * @return the value of the digit, or -1 if it isn't a digit
+     */
+    static int digit(char ch) {
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        }
+        return ch < 0x80 ? -1 : Character.digit(ch, 10);
+    }
+
+    /**
+     * Creates a {@link NumberFormatException} for the given range of
+     * characters.
+     *
+     * @param chars the characters which couldn't be parsed
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the exception
+     */
+    static NumberFormatException forInput(CharSequence chars, int start,
+            int end) {
+        return new NumberFormatException("For input string: \""
+                + chars.subSequence(start, end) + "\"");
+    }
+
+    private Numbers() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import pw.ollie.args.params.ParamsBase;
+
+/**
+ * The first positional arguments of some input, found by parsing only as much
+ * of the input as necessary. Created by {@link Arguments#peek(int,
+ * CharSequence)}, {@link Arguments#peek(ParamsBase, int, CharSequence)} and
+ * their overloads.
+ *
+ * The parse can be completed with {@link #resume()}, which continues from
+ * where the peek stopped rather than scanning the input again.
+ */
+public final class Peek {
+    /**
+     * The partially parsed {@link Arguments}.
+     */
+    private final Arguments arguments;
+    /**
+     * Whether all of the input has been parsed.
+     */
+    private boolean complete;
+
+    /**
+     * Creates a new Peek, parsing the given {@link Arguments} until they have
+     * the given amount of positional arguments.
+     *
+     * @param arguments the {@link Arguments} which have been started but not
+     *        yet parsed
+     * @param count the amount of positional arguments to find
+     */
+    Peek(Arguments arguments, int count) {
+        this.arguments = arguments;
+        this.complete = arguments.scan(count);
+    }
+
+    /**
+     * Gets the amount of positional arguments found. This is less than the
+     * amount requested if the input doesn't contain that many.
+     *
+     * @return the amount of positional arguments found
+     */
+    public int size() {
+        return arguments.length(false);
+    }
+
+    /**
+     * Gets the {@link Argument} for the positional argument at the given
+     * index, not including flag arguments in the index.
+     *
+     * @param index the index of the positional argument
+     * @return the {@link Argument} for the positional argument
+     * @throws IndexOutOfBoundsException if the index is not less than {@link
+     *         #size()}
+     */
+    public Argument get(int index) {
+        return arguments.get(index, false);
+    }
+
+    /**
+     * Gets the raw string for the positional argument at the given index, not
+     * including flag arguments in the index.
+     *
+     * @param index the index of the positional argument
+     * @return the raw string for the positional argument
+     * @throws IndexOutOfBoundsException if the index is not less than {@link
+     *         #size()}
+     */
+    public String getString(int index) {
+        return arguments.getString(index, false);
+    }
+
+    /**
+     * Checks whether all of the input was parsed to find the positional
+     * arguments, in which case {@link #resume()} has no more work to do.
+     *
+     * @return whether all of the input has been parsed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Completes parsing the input, continuing from where the peek stopped.
+     * Calling this again returns the same {@link Arguments}.
+     *
+     * @return the fully parsed {@link Arguments}
+     */
+    public Arguments resume() {
+        if (!complete) {
+            complete = arguments.scan(Integer.MAX_VALUE);
+        }
+        return arguments;
+    }
+
+    /**
+     * Completes parsing the input as with {@link #resume()}, and then creates
+     * a {@link pw.ollie.args.params.Params} object for the {@link Arguments}
+     * using the given {@link ParamsBase}.
+     *
+     * The {@link ParamsBase} declares which flags take values for the rest of
+     * the input. The input already parsed must have been classified in the
+     * same way, so the peek must have been created with the same {@link
+     * ParamsBase}, or without one if no flag has been found yet.
+     *
+     * @param paramsBase the {@link ParamsBase} to create the params from
+     * @return the fully parsed {@link Arguments}
+     * @throws IllegalArgumentException if flags have already been classified
+     *         without the given {@link ParamsBase}
+     * @throws IllegalStateException if the {@link Arguments} already have
+     *         params
+     */
+    public Arguments resume(ParamsBase paramsBase) {
+        if (!arguments.adoptSchema(paramsBase)) {
+            throw new IllegalArgumentException(
+                    "Flags were classified without the given ParamsBase");
+        }
+        Arguments result = resume();
+        return result.withParams(paramsBase.createParams(result));
+    }
+}
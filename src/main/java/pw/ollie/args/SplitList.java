@@ -0,0 +1,153 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * A lazy view of the elements of an {@link Argument}'s value separated by a
+ * character, such as the elements {@code a}, {@code b} and {@code c} of
+ * {@code a,b,c}. Elements are found by scanning the value as they are
+ * requested, and are {@link Argument}s sharing the value's characters.
+ *
+ * @see Argument#split(char)
+ */
+final class SplitList extends AbstractList<Argument> implements RandomAccess {
+    /**
+     * The characters containing the value.
+     */
+    private final CharSequence chars;
+    /**
+     * The start of the value in {@link #chars}, inclusive.
+     */
+    private final int start;
+    /**
+     * The end of the value in {@link #chars}, exclusive.
+     */
+    private final int end;
+    /**
+     * The character separating elements.
+     */
+    private final char separator;
+    /**
+     * The amount of elements, or -1 if they haven't been counted yet.
+     */
+    private int size = -1;
+    /**
+     * The index of the last element found by {@link #get(int)} in the high
+     * half and its start in the low half, so that reading the elements in
+     * order only scans the value once.
+     */
+    private volatile long last;
+
+    SplitList(CharSequence chars, int start, int end, char separator) {
+        this.chars = chars;
+        this.start = start;
+        this.end = end;
+        this.separator = separator;
+        this.last = start & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public Argument get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        long current = last;
+        int element = (int) (current >>> 32);
+        int position = (int) current;
+        if (element > index) {
+            element = 0;
+            position = start;
+        }
+        while (element < index) {
+            position = next(position);
+            if (position > end) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            element++;
+        }
+        if (start == end) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        last = ((long) element << 32) | (position & 0xFFFFFFFFL);
+        return new Argument(chars, position, next(position) - 1);
+    }
+
+    @Override
+    public int size() {
+        int result = size;
+        if (result < 0) {
+            result = 0;
+            if (start < end) {
+                for (int position = start; position <= end;
+                        position = next(position)) {
+                    result++;
+                }
+            }
+            size = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Argument> iterator() {
+        return new Iterator<Argument>() {
+            private int position = start < end ? start : end + 1;
+
+            @Override
+            public boolean hasNext() {
+                return position <= end;
+            }
+
+            @Override
+            public Argument next() {
+                if (position > end) {
+                    throw new NoSuchElementException();
+                }
+                int elementStart = position;
+                position = SplitList.this.next(position);
+                return new Argument(chars, elementStart, position - 1);
+            }
+        };
+    }
+
+    /**
+     * Finds the start of the element after the element starting at the given
+     * position.
+     *
+     * @param position the start of an element
+     * @return the start of the next element, or {@code end + 1} if there are
+     *         no more elements
+     */
+    private int next(int position) {
+        while (position < end && chars.charAt(position) != separator) {
+            position++;
+        }
+        return position + 1;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args;
+
+/**
+ * Splits a line into tokens for {@link Arguments#parse(CharSequence)}, handling
+ * quotes, escapes and repeated whitespace in a single pass over the line.
+ *
+ * When the line is a {@link ByteChars} view of UTF-8 bytes, the scan works on
+ * the bytes, and only tokens containing non-ASCII bytes or needing to be
+ * unquoted or unescaped are decoded as they are found.
+ */
+final class Tokenizer {
+    /**
+     * The line being tokenized.
+     */
+    private CharSequence line;
+    /**
+     * The offset in {@link #line} at which scanning will continue.
+     */
+    private int position;
+    /**
+     * The {@link Arguments} which tokens are added to.
+     */
+    private final Arguments into;
+    /**
+     * Builder for the content of tokens which differs from their source text,
+     * created when the first quoted or escaped token is found.
+     */
+    private StringBuilder builder;
+
+    /**
+     * Creates a new Tokenizer which adds tokens to the given {@link
+     * Arguments}. The Tokenizer can be reused for multiple lines.
+     *
+     * @param into the {@link Arguments} to add tokens to
+     */
+    Tokenizer(Arguments into) {
+        this.into = into;
+    }
+
+    /**
+     * Starts tokenizing the given line. Tokens are added by {@link
+     * #scan(int)}.
+     *
+     * @param line the line to tokenize
+     */
+    void start(CharSequence line) {
+        this.line = line;
+        this.position = 0;
+    }
+
+    /**
+     * Continues tokenizing the line from where the last scan stopped, adding
+     * each token to the {@link Arguments}, until the Arguments contain the
+     * given amount of positional arguments or the end of the line is reached.
+     *
+     * @param positionals the amount of positional arguments to stop after
+     * @return whether the end of the line has been reached
+     */
+    boolean scan(int positionals) {
+        final CharSequence line = this.line;
+        final int length = line.length();
+        final ByteChars bytes = line instanceof ByteChars ? (ByteChars) line
+                : null;
+        int i = position;
+        while (true) {
+            while (i < length && isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                position = i;
+                return true;
+            }
+            if (into.positionalsAdded() >= positionals) {
+                position = i;
+                return false;
+            }
+
+            final int start = i;
+            // whether the content of the token is being built in the builder
+            // rather than being the same as its source text
+            boolean building = false;
+            // whether the token contains any non-ASCII characters
+            boolean ascii = true;
+            char quote = line.charAt(i);
+            if (quote == '"' || quote == '\'') {
+                startBuilding(start, start);
+                building = true;
+                i++;
+            } else {
+                quote = 0;
+            }
+
+            for (; i < length; i++) {
+                char ch = line.charAt(i);
+                if (ch >= 0x80) {
+                    ascii = false;
+                }
+                if (quote != 0) {
+                    if (ch == quote) {
+                        quote = 0;
+                        continue;
+                    }
+                    if (ch == '\\' && quote == '"' && i + 1 < length) {
+                        ch = line.charAt(++i);
+                    }
+                    builder.append(ch);
+                    continue;
+                }
+
+                if (isSeparator(ch)) {
+                    break;
+                }
+                if (ch == '\\' && i + 1 < length) {
+                    if (!building) {
+                        startBuilding(start, i);
+                        building = true;
+                    }
+                    builder.append(line.charAt(++i));
+                    continue;
+                }
+                if (building) {
+                    builder.append(ch);
+                }
+            }
+
+            String content = null;
+            if (bytes != null && (building || !ascii)) {
+                content = building ? ByteChars.decode(builder)
+                        : bytes.decode(start, i);
+            } else if (building) {
+                content = builder.toString();
+            }
+            into.addToken(start, i, content);
+        }
+    }
+
+    /**
+     * Checks whether the given character separates tokens, which is the case
+     * for ASCII whitespace only, so that lines of chars and of UTF-8 bytes are
+     * split in the same places.
+     *
+     * @param ch the character to check
+     * @return whether the character is ASCII whitespace
+     */
+    static boolean isSeparator(char ch) {
+        return ch <= ' ' && Character.isWhitespace(ch);
+    }
+
+    /**
+     * Prepares {@link #builder} to build the content of a token, copying the
+     * given range of the line into it.
+     *
+     * @param start the start of the token's source text
+     * @param end the end of the source text which has been read so far
+     */
+    private void startBuilding(int start, int end) {
+        if (builder == null) {
+            builder = new StringBuilder();
+        }
+        builder.setLength(0);
+        builder.append(line, start, end);
+    }
+}
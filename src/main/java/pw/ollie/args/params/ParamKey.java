@@ -0,0 +1,97 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pw.ollie.args.params;
+
+/**
+ * A handle for a parameter of a {@link ParamsBase}, obtained once from {@link
+ * ParamsBase#key(String)} - for example when a command is registered - and
+ * then used to get the parameter from each {@link Params} created by the base
+ * with {@link Params#get(ParamKey)}. Bases which keep their parameters in
+ * slots give the key the parameter's slot, so getting a parameter with the key
+ * doesn't need to look its name up.
+ */
+public final class ParamKey {
+    /**
+     * The {@link ParamsBase} the parameter belongs to.
+     */
+    private final ParamsBase base;
+    /**
+     * The slot of the parameter in {@link #base}, or -1 if it has none.
+     */
+    private final int slot;
+    /**
+     * The name of the parameter.
+     */
+    private final String name;
+
+    /**
+     * Creates a new {@link ParamKey} for the parameter with the given name
+     * and slot in the given {@link ParamsBase}.
+     *
+     * @param base the {@link ParamsBase} the parameter belongs to
+     * @param slot the slot of the parameter, or -1 if the base doesn't use
+     *        slots
+     * @param name the name of the parameter
+     */
+    public ParamKey(ParamsBase base, int slot, String name) {
+        if (base == null || name == null || slot < -1) {
+            throw new IllegalArgumentException();
+        }
+        this.base = base;
+        this.slot = slot;
+        this.name = name;
+    }
+
+    /**
+     * Gets the {@link ParamsBase} the parameter belongs to.
+     *
+     * @return the {@link ParamsBase} this key was created by
+     */
+    public ParamsBase getBase() {
+        return base;
+    }
+
+    /**
+     * Gets the slot of the parameter in its {@link ParamsBase}.
+     *
+     * @return the slot of the parameter, or -1 if the base doesn't use slots
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the name of the parameter.
+     *
+     * @return the name of the parameter
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -46,6 +46,19 @@ public class Parameter extends Argument {
         this.info = info;
     }
 
+    /**
+     * Creates a new {@link Parameter} with the value of the given {@link
+     * Argument}, sharing its characters rather than copying them.
+     *
+     * @param arg the {@link Argument} with the value for this {@link
+     *        Parameter}
+     * @param info information about this parameter
+     */
+    public Parameter(Argument arg, ParamInfo info) {
+        super(arg);
+        this.info = info;
+    }
+
     /**
      * Gets the {@link ParamInfo} for this {@link Parameter}.
      *
@@ -26,6 +26,7 @@ package pw.ollie.args.params;
 import pw.ollie.args.Arguments;
 
 import java.util.Collection;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a map of named parameters to user-inputted values.
@@ -59,6 +60,32 @@ public interface Params {
      */
     boolean has(String param);
 
+    /**
+     * Gets the {@link Parameter} value for the parameter with the given key,
+     * as with {@link #get(String)}. Implementations which keep parameters in
+     * slots should override this to read the key's slot directly.
+     *
+     * @param key the key of the parameter, from {@link ParamsBase#key(String)}
+     * @return the {@link Parameter} for the given key
+     */
+    default Parameter get(ParamKey key) {
+        return get(key.getName());
+    }
+
+    /**
+     * Returns whether the parameter with the given key has a user-specified
+     * value in this {@link Params} object, as with {@link #has(String)}.
+     * This doesn't get the parameter, so it doesn't create it or run any
+     * processors on it in implementations which create parameters lazily.
+     *
+     * @param key the key of the parameter, from {@link ParamsBase#key(String)}
+     * @return {@code true} if the given parameter has a value, else {@code
+     *         false}
+     */
+    default boolean has(ParamKey key) {
+        return has(key.getName());
+    }
+
     /**
      * Gets a {@link Collection} of all parameter names present within these
      * {@link Params}.
@@ -75,6 +102,20 @@ public interface Params {
      */
     Collection<Parameter> values();
 
+    /**
+     * Calls the given action with the {@link ParamInfo} and {@link Parameter}
+     * value of each parameter present within these {@link Params}, without
+     * creating any collections. Implementations should give the parameters in
+     * the order they were declared.
+     *
+     * @param action the action to call for each parameter
+     */
+    default void forEach(BiConsumer<ParamInfo, Parameter> action) {
+        for (Parameter param : values()) {
+            action.accept(param.getInfo(), param);
+        }
+    }
+
     /**
      * Gets the {@link ParamsBase} which this {@link Params} object was built
      * from.
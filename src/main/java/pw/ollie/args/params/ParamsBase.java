@@ -44,6 +44,72 @@ public interface ParamsBase {
      */
     Params createParams(Arguments args);
 
+    /**
+     * Creates a {@link Params} object as with {@link
+     * #createParams(Arguments)}, reusing the given {@link Params} object if
+     * it was created by this {@link ParamsBase} and the implementation
+     * supports reuse. The given {@link Params} object must no longer be in
+     * use.
+     *
+     * @param args the {@link Arguments} to get parameter values from
+     * @param reuse a previously created {@link Params} object which may be
+     *        reused, or {@code null}
+     * @return a {@link Params} object from this base and the given args
+     */
+    default Params createParams(Arguments args, Params reuse) {
+        return createParams(args);
+    }
+
+    /**
+     * Checks whether {@link Params} created from the given {@link Arguments}
+     * by this {@link ParamsBase} would be {@link Params#valid() valid}, which
+     * is useful for choosing between the bases of overloaded commands before
+     * creating any {@link Params}. Implementations should override this to
+     * check the arguments without creating {@link Params}.
+     *
+     * @param args the {@link Arguments} to check
+     * @return whether {@link Params} created from the arguments would be valid
+     */
+    default boolean matches(Arguments args) {
+        return createParams(args).valid();
+    }
+
+    /**
+     * Gets the amount of values taken by the flag with the given name, if it
+     * is declared by this {@link ParamsBase}. {@link Arguments} parsed for this
+     * {@link ParamsBase} use this while tokenizing, so that flags are given
+     * the right amount of values in a single pass. The name is given as a
+     * range of characters so it can be checked without creating a String,
+     * and should be compared ignoring case.
+     *
+     * @param chars the characters containing the flag name
+     * @param start the start of the flag name, inclusive
+     * @param end the end of the flag name, exclusive
+     * @return the amount of values taken by the flag, 0 for a flag which takes
+     *         no value, or -1 if the flag isn't declared, in which case it is
+     *         parsed as normal
+     */
+    default int getFlagArity(CharSequence chars, int start, int end) {
+        return -1;
+    }
+
+    /**
+     * Gets a {@link ParamKey} for the parameter with the given name, which
+     * should be done once, such as when a command is registered, and can then
+     * be used to get the parameter from any {@link Params} created by this
+     * {@link ParamsBase}. Implementations which keep parameters in slots
+     * should override this to give keys the parameter's slot and reject
+     * unknown names.
+     *
+     * @param name the name of the parameter
+     * @return a key for the parameter
+     * @throws IllegalArgumentException if this {@link ParamsBase} has no
+     *         parameter with the given name
+     */
+    default ParamKey key(String name) {
+        return new ParamKey(this, -1, name);
+    }
+
     /**
      * Gets the total amount of parameters.
      *
@@ -24,31 +24,55 @@
 package pw.ollie.args.params.impl;
 
 import pw.ollie.args.Arguments;
+import pw.ollie.args.params.ParamInfo;
+import pw.ollie.args.params.ParamKey;
 import pw.ollie.args.params.Parameter;
 import pw.ollie.args.params.Params;
 
-import java.util.HashSet;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
 
 /**
- * A wrapper around a {@link Map} to provide a set of parameters for commands
- * and similar.
+ * A set of parameters for commands and similar, held in an array indexed by
+ * the slots of their {@link SimpleParamsBase}.
+ *
+ * Parameters are bound lazily: creating these {@link SimpleParams} only
+ * records how many slots have arguments, and each {@link Parameter} is
+ * created, running the base's processors on its value, the first time it is
+ * read. Once created, SimpleParams may be read from multiple threads; bound
+ * parameters are published safely, and every thread sees the same {@link
+ * Parameter} for a slot, although if threads read an unbound parameter at the
+ * same time the processors may run on it more than once. Reusing
+ * SimpleParams through {@link SimpleParamsBase#createParams(Arguments,
+ * Params)} is not thread-safe.
  */
 public final class SimpleParams implements Params {
     /**
      * The base {@link Arguments} parsed to create these {@link SimpleParams}.
      */
-    private final Arguments arguments;
+    private Arguments arguments;
     /**
      * Base information for these {@link SimpleParams}.
      */
     private final SimpleParamsBase base;
     /**
-     * A {@link Map} of all of the parameters.
+     * The parameter in each slot of {@link #base}, or {@code null} for
+     * parameters without a value or which haven't been bound yet.
+     */
+    private final AtomicReferenceArray<Parameter> params;
+    /**
+     * The amount of slots, starting from the first, which have an argument
+     * in {@link #arguments} to be bound when they are first read.
      */
-    private final Map<String, Parameter> params;
+    private int bound;
 
     /**
      * Whether this set of parameters is valid.
@@ -57,16 +81,37 @@ public final class SimpleParams implements Params {
 
     /**
      * Creates a new set of {@link SimpleParams} from the given {@link Map} of
-     * parameters to values.
+     * parameters to values. The parameters are stored in the slots of the
+     * base, so entries for names the base doesn't declare are ignored.
      *
+     * @param arguments the {@link Arguments} the parameters are for
      * @param base base information for these params
      * @param params the parameters and their values for this Params object
      */
     public SimpleParams(Arguments arguments, SimpleParamsBase base,
             Map<String, Parameter> params) {
+        this(arguments, base, 0);
+        for (Entry<String, Parameter> entry : params.entrySet()) {
+            int slot = base.getSlot(entry.getKey());
+            if (slot != -1) {
+                this.params.set(slot, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Creates a new set of {@link SimpleParams} whose first slots are bound
+     * to arguments when they are read.
+     *
+     * @param arguments the {@link Arguments} the parameters are for
+     * @param base base information for these params
+     * @param bound the amount of slots which have arguments
+     */
+    SimpleParams(Arguments arguments, SimpleParamsBase base, int bound) {
         this.arguments = arguments;
-        this.params = params;
+        this.params = new AtomicReferenceArray<>(base.length());
         this.base = base;
+        this.bound = bound;
     }
 
     @Override
@@ -76,22 +121,92 @@ public final class SimpleParams implements Params {
 
     @Override
     public Parameter get(String parameter) {
-        return params.get(parameter);
+        int slot = base.getSlot(parameter);
+        return slot == -1 ? null : get(slot);
     }
 
     @Override
     public boolean has(String parameter) {
-        return params.containsKey(parameter);
+        int slot = base.getSlot(parameter);
+        return slot != -1 && has(slot);
     }
 
+    @Override
+    public Parameter get(ParamKey key) {
+        int slot = slotOf(key);
+        return slot != -1 ? get(slot) : get(key.getName());
+    }
+
+    @Override
+    public boolean has(ParamKey key) {
+        int slot = slotOf(key);
+        return slot != -1 ? has(slot) : has(key.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned set is a read-only view of these parameters, in the order
+     * they are declared in the usage string, and isn't copied.
+     */
     @Override
     public Set<String> parameters() {
-        return new HashSet<>(params.keySet());
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new SlotIterator<>(slot -> base.getInfo(slot)
+                        .getName());
+            }
+
+            @Override
+            public int size() {
+                return present();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String && has((String) o);
+            }
+        };
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The returned set is a read-only view of these parameters, in the order
+     * they are declared in the usage string, and isn't copied. Each present
+     * parameter is in the set once, even if it is equal to another parameter
+     * with the same value.
+     */
     @Override
     public Set<Parameter> values() {
-        return new HashSet<>(params.values());
+        return new AbstractSet<Parameter>() {
+            @Override
+            public Iterator<Parameter> iterator() {
+                return new SlotIterator<>(SimpleParams.this::get);
+            }
+
+            @Override
+            public int size() {
+                return present();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The parameters are given in the order they are declared in the usage
+     * string.
+     */
+    @Override
+    public void forEach(BiConsumer<ParamInfo, Parameter> action) {
+        for (int slot = 0; slot < params.length(); slot++) {
+            Parameter param = get(slot);
+            if (param != null) {
+                action.accept(base.getInfo(slot), param);
+            }
+        }
     }
 
     @Override
@@ -105,13 +220,104 @@ public final class SimpleParams implements Params {
     }
 
     /**
-     * Gets a {@link Set} of all of the entries to the {@link Map} of parameters
-     * contained by this {@link SimpleParams} object.
+     * Gets a read-only view of the names and values of the parameters
+     * contained by this {@link SimpleParams} object, in the order they are
+     * declared in the usage string.
      *
-     * @return a {@link Set} of all entries to the parameters {@link Map}
+     * @return a {@link Set} of the entries for each parameter with a value
      */
     public Set<Entry<String, Parameter>> entries() {
-        return new HashSet<>(params.entrySet());
+        return new AbstractSet<Entry<String, Parameter>>() {
+            @Override
+            public Iterator<Entry<String, Parameter>> iterator() {
+                return new SlotIterator<>(slot -> new SimpleImmutableEntry<>(
+                        base.getInfo(slot).getName(), get(slot)));
+            }
+
+            @Override
+            public int size() {
+                return present();
+            }
+        };
+    }
+
+    /**
+     * Clears these parameters so they can be reused for the given {@link
+     * Arguments}. Should only be used in {@link
+     * SimpleParamsBase#createParams(Arguments, Params)}.
+     *
+     * @param arguments the {@link Arguments} the parameters are for
+     * @param bound the amount of slots which have arguments
+     */
+    void reset(Arguments arguments, int bound) {
+        this.arguments = arguments;
+        this.bound = bound;
+        this.valid = true;
+        for (int slot = 0; slot < params.length(); slot++) {
+            params.set(slot, null);
+        }
+    }
+
+    /**
+     * Gets the slot of the parameter the given key is for, if the key was
+     * made for {@link #base} with the slot of the parameter it names. Keys
+     * can be created with any slot, so anything else is looked up by name.
+     *
+     * @param key the key of the parameter
+     * @return the slot of the parameter, or -1 if it must be looked up by
+     *         name
+     */
+    private int slotOf(ParamKey key) {
+        int slot = key.getSlot();
+        return key.getBase() == base && slot >= 0 && slot < base.length()
+                && base.getInfo(slot).getName().equals(key.getName()) ? slot
+                : -1;
+    }
+
+    /**
+     * Gets the parameter in the given slot, binding it to its argument if
+     * this is the first time it has been read.
+     *
+     * @param slot the slot of the parameter
+     * @return the parameter, or {@code null} if it has no value
+     */
+    private Parameter get(int slot) {
+        Parameter result = params.get(slot);
+        if (result == null && slot < bound) {
+            result = base.bind(arguments, slot);
+            // another thread may have bound the slot first, in which case
+            // its parameter is used so every reader sees the same one
+            if (!params.compareAndSet(slot, null, result)) {
+                result = params.get(slot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the parameters with values, without binding them.
+     *
+     * @return the amount of parameters with values
+     */
+    private int present() {
+        int result = bound;
+        for (int slot = bound; slot < params.length(); slot++) {
+            if (params.get(slot) != null) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the parameter in the given slot has a value, without
+     * binding it.
+     *
+     * @param slot the slot of the parameter
+     * @return whether the parameter has a value
+     */
+    private boolean has(int slot) {
+        return slot < bound || params.get(slot) != null;
     }
 
     /**
@@ -121,4 +327,56 @@ public final class SimpleParams implements Params {
     void invalidate() {
         valid = false;
     }
+
+    /**
+     * Iterates over the slots of the parameters with values, in order,
+     * mapping each slot to an element when it is reached.
+     *
+     * @param <T> the type of the elements
+     */
+    private final class SlotIterator<T> implements Iterator<T> {
+        /**
+         * Gets the element for a slot.
+         */
+        private final IntFunction<T> element;
+        /**
+         * The next slot with a value, or the amount of slots if there are no
+         * more.
+         */
+        private int next;
+
+        SlotIterator(IntFunction<T> element) {
+            this.element = element;
+            this.next = advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < params.length();
+        }
+
+        @Override
+        public T next() {
+            if (next >= params.length()) {
+                throw new NoSuchElementException();
+            }
+            T result = element.apply(next);
+            next = advance(next + 1);
+            return result;
+        }
+
+        /**
+         * Finds the first slot with a value, starting at the given slot.
+         *
+         * @param slot the slot to start at
+         * @return the slot with a value, or the amount of slots if there is
+         *         none
+         */
+        private int advance(int slot) {
+            while (slot < params.length() && !has(slot)) {
+                slot++;
+            }
+            return slot;
+        }
+    }
 }
@@ -25,18 +25,25 @@ package pw.ollie.args.params.impl;
 
 import pw.ollie.args.Arguments;
 import pw.ollie.args.params.ParamInfo;
+import pw.ollie.args.params.ParamKey;
 import pw.ollie.args.params.Parameter;
+import pw.ollie.args.params.Params;
 import pw.ollie.args.params.ParamsBase;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiFunction;
 
 /**
  * A base to create {@link SimpleParams} objects from - used so that we don't
  * parse the usage string every time a command is executed.
+ *
+ * The usage string is compiled into arrays indexed by slot, the position of
+ * each parameter in the usage string, so creating {@link SimpleParams} only
+ * records which slots have arguments, without any hashing. The
+ * {@link Parameter}s themselves are only created, and the registered
+ * processors only run, when a parameter is first read from the {@link
+ * SimpleParams}.
  */
 public final class SimpleParamsBase implements ParamsBase {
     /**
@@ -73,9 +80,13 @@ public final class SimpleParamsBase implements ParamsBase {
     private static final int OPTIONAL_PARAMETER = 2;
 
     /**
-     * A list of all of the parameters.
+     * The information for the parameter in each slot.
+     */
+    private final ParamInfo[] params;
+    /**
+     * The name of the parameter in each slot.
      */
-    private final List<ParamInfo> params;
+    private final String[] names;
     /**
      * The number of arguments before the first parameter.
      */
@@ -88,7 +99,12 @@ public final class SimpleParamsBase implements ParamsBase {
     /**
      * Flag information for validation.
      */
-    private final List<FlagInfo> requiredFlags;
+    private final FlagInfo[] requiredFlags;
+    /**
+     * All declared flags, required or optional, used to tell {@link Arguments}
+     * which flags take values.
+     */
+    private final FlagInfo[] flags;
     /**
      * All registered parameter processors.
      */
@@ -101,19 +117,26 @@ public final class SimpleParamsBase implements ParamsBase {
      * @param params the parameters for this ParamsBase
      * @param argsBeforeParams the amount of arguments before the first param
      * @param amtRequired the amount of required parameters
+     * @param flags all declared flags
      */
     private SimpleParamsBase(List<ParamInfo> params, int argsBeforeParams,
-            int amtRequired, List<FlagInfo> requiredFlags) {
-        this.params = params;
+            int amtRequired, List<FlagInfo> flags) {
+        this.params = params.toArray(new ParamInfo[params.size()]);
+        this.names = new String[this.params.length];
+        for (int slot = 0; slot < names.length; slot++) {
+            names[slot] = this.params[slot].getName();
+        }
         this.argsBeforeParams = argsBeforeParams;
         this.amtRequired = amtRequired;
-        this.requiredFlags = requiredFlags;
+        this.flags = flags.toArray(new FlagInfo[flags.size()]);
+        this.requiredFlags = flags.stream().filter(flag -> !flag.optional)
+                .toArray(FlagInfo[]::new);
         this.processors = new ArrayList<>();
     }
 
     @Override
     public int length() {
-        return params.size();
+        return params.length;
     }
 
     @Override
@@ -140,7 +163,7 @@ public final class SimpleParamsBase implements ParamsBase {
      * @return the required amount of flags
      */
     public int getAmtRequiredFlags() {
-        return requiredFlags.size();
+        return requiredFlags.length;
     }
 
     /**
@@ -152,44 +175,132 @@ public final class SimpleParamsBase implements ParamsBase {
         return argsBeforeParams;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Flags are declared in the usage string by starting a parameter with -
+     * or --, followed by a word for each value the flag takes. For example,
+     * {@code <-f file>} declares a required flag {@code f} taking one value,
+     * and {@code [--verbose]} declares an optional flag {@code verbose} which
+     * takes no value.
+     */
     @Override
-    public SimpleParams createParams(Arguments args) {
-        Map<String, Parameter> map = new HashMap<>();
-        int curArg = argsBeforeParams;
-        int curParam = 0;
-        int curFlag = 0;
-        boolean valid = true;
-
-        while (curArg < args.length(false) && curParam < params.size()) {
-            if (curFlag < requiredFlags.size()) {
-                if (!args.hasValueFlag(requiredFlags.get(curFlag++).name)) {
-                    // a required flag isn't present
-                    valid = false;
-                }
+    public int getFlagArity(CharSequence chars, int start, int end) {
+        for (FlagInfo flag : flags) {
+            if (flag.matches(chars, start, end)) {
+                return flag.arity;
             }
+        }
+        return -1;
+    }
 
-            ParamInfo info = params.get(curParam);
-            String val = process(info, args.getString(curArg, false));
+    /**
+     * Gets the slot of the parameter with the given name, which is its
+     * position among the parameters in the usage string.
+     *
+     * @param name the name of the parameter
+     * @return the slot of the parameter, or -1 if there is no parameter with
+     *         the given name
+     */
+    public int getSlot(String name) {
+        for (int slot = 0; slot < names.length; slot++) {
+            if (names[slot].equals(name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
 
-            map.put(info.getName(), new Parameter(val, info));
-            curArg++;
-            curParam++;
+    /**
+     * {@inheritDoc}
+     *
+     * The key holds the parameter's slot, so {@link SimpleParams} created by
+     * this base get the parameter with a single array read.
+     */
+    @Override
+    public ParamKey key(String name) {
+        int slot = getSlot(name);
+        if (slot == -1) {
+            throw new IllegalArgumentException("Unknown parameter: " + name);
         }
+        return new ParamKey(this, slot, name);
+    }
 
-        while (curFlag < requiredFlags.size()) {
-            // get through the rest of the flags...
-            if (!args.hasValueFlag(requiredFlags.get(curFlag++).name)) {
-                // a required flag isn't present
-                valid = false;
+    /**
+     * Gets the information for the parameter in the given slot.
+     *
+     * @param slot the slot of the parameter
+     * @return the information for the parameter
+     * @throws IndexOutOfBoundsException if there is no such slot
+     */
+    public ParamInfo getInfo(int slot) {
+        return params[slot];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the amount of arguments and the required flags are checked, so
+     * nothing is allocated.
+     */
+    @Override
+    public boolean matches(Arguments args) {
+        if (args.length(false) - argsBeforeParams < amtRequired) {
+            return false;
+        }
+        for (FlagInfo flag : requiredFlags) {
+            if (!flag.isPresent(args)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    @Override
+    public SimpleParams createParams(Arguments args) {
+        return createParams(args, null);
+    }
+
+    @Override
+    public SimpleParams createParams(Arguments args, Params reuse) {
+        // the parameters are the positional arguments after the ones before
+        // the first parameter, in slot order, and are only bound when read
+        int present = Math.max(0, Math.min(params.length,
+                args.length(false) - argsBeforeParams));
+        SimpleParams result;
+        if (reuse instanceof SimpleParams
+                && ((SimpleParams) reuse).getBase() == this) {
+            result = (SimpleParams) reuse;
+            result.reset(args, present);
+        } else {
+            result = new SimpleParams(args, this, present);
+        }
 
-        SimpleParams params = new SimpleParams(args, this, map);
-        if (!valid || amtRequired > map.size()) {
-            params.invalidate();
+        if (!matches(args)) {
+            result.invalidate();
         }
 
-        return params;
+        return result;
+    }
+
+    /**
+     * Creates the {@link Parameter} for the given slot from its argument,
+     * running the registered processors on its value. Used by {@link
+     * SimpleParams} the first time a parameter is read.
+     *
+     * @param args the {@link Arguments} the parameters are for
+     * @param slot the slot of the parameter
+     * @return the {@link Parameter} for the slot
+     */
+    Parameter bind(Arguments args, int slot) {
+        ParamInfo info = params[slot];
+        int index = argsBeforeParams + slot;
+        if (processors.isEmpty()) {
+            // share the argument's characters rather than copying them
+            return new Parameter(args.get(index, false), info);
+        }
+        return new Parameter(process(info, args.getString(index, false)),
+                info);
     }
 
     private String process(ParamInfo info, String argument) {
@@ -224,7 +335,7 @@ public final class SimpleParamsBase implements ParamsBase {
         // the amount of required arguments
         int amtRequired = 0;
         // flags present
-        List<FlagInfo> requiredFlags = new ArrayList<>();
+        List<FlagInfo> flags = new ArrayList<>();
 
         final char[] characters = usageString.toCharArray();
         for (int i = 0; i < characters.length; i++) {
@@ -256,28 +367,40 @@ public final class SimpleParamsBase implements ParamsBase {
             }
 
             if (status == REQUIRED_PARAMETER || status == OPTIONAL_PARAMETER) {
-                final char next = characters[i + 1];
-                if (ch == '-' && next != REQUIRED_CLOSE_DENOTATION
+                final char next = i + 1 < characters.length
+                        ? characters[i + 1] : REQUIRED_CLOSE_DENOTATION;
+                if (ch == '-' && builder.length() == 0
+                        && next != REQUIRED_CLOSE_DENOTATION
                         && next != OPTIONAL_CLOSE_DENOTATION
-                        && characters[i + 2] == ' ') {
-                    int breakPoint = Integer.MAX_VALUE;
-                    boolean isOptional = false;
-                    for (int j = 3; j < breakPoint; j++) {
-                        char toAppend = characters[i + j];
-                        if (toAppend == REQUIRED_CLOSE_DENOTATION
-                                || toAppend == OPTIONAL_CLOSE_DENOTATION) {
-                            if (toAppend == OPTIONAL_CLOSE_DENOTATION) {
-                                isOptional = true;
-                            }
-                            breakPoint = j;
-                        }
+                        && next != ARGUMENT_SEPARATOR) {
+                    // a flag, such as '-f val' - the first word is the name
+                    // and each following word is a value the flag takes
+                    int end = i;
+                    while (end < characters.length
+                            && characters[end] != REQUIRED_CLOSE_DENOTATION
+                            && characters[end] != OPTIONAL_CLOSE_DENOTATION) {
+                        end++;
                     }
 
-                    if (!isOptional) {
-                        requiredFlags.add(new FlagInfo(String.valueOf(next)));
+                    int nameStart = next == '-' ? i + 2 : i + 1;
+                    int nameEnd = nameStart;
+                    while (nameEnd < end
+                            && characters[nameEnd] != ARGUMENT_SEPARATOR) {
+                        nameEnd++;
+                    }
+                    int arity = 0;
+                    for (int j = nameEnd; j < end; j++) {
+                        if (characters[j] != ARGUMENT_SEPARATOR
+                                && characters[j - 1] == ARGUMENT_SEPARATOR) {
+                            arity++;
+                        }
                     }
 
-                    i += 2;
+                    flags.add(new FlagInfo(new String(characters, nameStart,
+                            nameEnd - nameStart), arity,
+                            status == OPTIONAL_PARAMETER));
+
+                    i = end;
                     status = NO_PARAMETER;
                     builder = null;
                     continue;
@@ -298,21 +421,56 @@ public final class SimpleParamsBase implements ParamsBase {
             }
         }
 
-        return new SimpleParamsBase(res, before, amtRequired, requiredFlags);
+        return new SimpleParamsBase(res, before, amtRequired, flags);
     }
 
     /**
      * Basic flag information, used only in {@link SimpleParamsBase}.
      */
-    private static class FlagInfo {
+    private static final class FlagInfo {
         /**
          * Name (denotation) of the flag. This represents the first 'component'
          * of a flag. For example, in '-f val', this would be 'f'.
          */
         final String name;
+        /**
+         * The amount of values the flag takes, 0 if it has no value.
+         */
+        final int arity;
+        /**
+         * Whether the flag is optional.
+         */
+        final boolean optional;
 
-        FlagInfo(String name) {
+        FlagInfo(String name, int arity, boolean optional) {
             this.name = name;
+            this.arity = arity;
+            this.optional = optional;
+        }
+
+        /**
+         * Checks whether the given {@link Arguments} contain this flag, with
+         * a value if it takes one.
+         *
+         * @param args the {@link Arguments} to check
+         * @return whether the flag is present
+         */
+        boolean isPresent(Arguments args) {
+            return arity == 0 ? args.hasNonValueFlag(name)
+                    : args.hasValueFlag(name);
+        }
+
+        /**
+         * Checks whether the given range of characters is this flag's name,
+         * ignoring case.
+         *
+         * @param chars the characters containing the name
+         * @param start the start of the name, inclusive
+         * @param end the end of the name, exclusive
+         * @return whether the range matches this flag's name
+         */
+        boolean matches(CharSequence chars, int start, int end) {
+            return Arguments.isFlagName(name, chars, start, end);
         }
     }
 }
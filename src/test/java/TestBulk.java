@@ -0,0 +1,90 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.ArgumentFormatException;
+import pw.ollie.args.Arguments;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class TestBulk {
+    @Test
+    public void runTest() {
+        Arguments args = Arguments.parse("ban -r spam 10 20 30 4.5 x");
+
+        // Test small ranges
+        Assert.assertArrayEquals("BULK: INT", new int[] { 10, 20, 30 },
+                args.toIntArray(1, 4));
+        Assert.assertArrayEquals("BULK: LONG", new long[] { 20, 30 },
+                args.toLongArray(2, 4));
+        Assert.assertArrayEquals("BULK: DOUBLE",
+                new double[] { 10, 20, 30, 4.5 }, args.toDoubleArray(1, 5),
+                0);
+        Assert.assertEquals("BULK: EMPTY", 0, args.toIntArray(2, 2).length);
+        try {
+            args.toIntArray(1, 6);
+            Assert.fail("BULK: BAD");
+        } catch (ArgumentFormatException expected) {
+            Assert.assertEquals("BULK: BAD", 4, expected.getIndex());
+        }
+        try {
+            args.toIntArray(0, 7);
+            Assert.fail("BULK: RANGE");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        // Test large ranges, which are converted in parallel
+        int size = 100_000;
+        StringBuilder line = new StringBuilder("ids");
+        for (int i = 0; i < size; i++) {
+            line.append(' ').append(i * 7L + 300_000);
+        }
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        Arguments ids = Arguments.parse(ByteBuffer.wrap(bytes));
+        long[] longs = ids.toLongArray(1, size + 1);
+        double[] doubles = ids.toDoubleArray(1, size + 1);
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals("BULK: LARGE", i * 7L + 300_000, longs[i]);
+            Assert.assertEquals("BULK: LARGE", i * 7L + 300_000, doubles[i], 0);
+        }
+
+        // Test the first bad index is reported from parallel conversion
+        line.append(" bad");
+        for (int i = 0; i < size; i++) {
+            line.append(" x");
+        }
+        ids.resetLine(line);
+        try {
+            ids.toIntArray(1, ids.length(false));
+            Assert.fail("BULK: LARGE BAD");
+        } catch (ArgumentFormatException expected) {
+            Assert.assertEquals("BULK: LARGE BAD", size + 1,
+                    expected.getIndex());
+            Assert.assertTrue("BULK: LARGE BAD",
+                    expected.getMessage().contains("\"bad\""));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Flag;
+
+public class TestCache {
+    @Test
+    public void runTest() {
+        Arguments[] all = { new Arguments("tp", "-to", "spawn", "Notch"),
+                Arguments.parse("tp -to spawn Notch") };
+        for (Arguments args : all) {
+            // Test repeated calls give the same Argument
+            Argument first = args.get(0);
+            Assert.assertSame("CACHE: ARG", first, args.get(0));
+            Assert.assertSame("CACHE: ARG", first, args.get(0, false));
+            Assert.assertSame("CACHE: ARG", args.get(3), args.get(1, false));
+
+            // Test repeated calls give the same Flag, sharing the Argument
+            Flag flag = args.getValueFlag("to");
+            Assert.assertSame("CACHE: FLAG", flag, args.getValueFlag("to"));
+            Assert.assertSame("CACHE: FLAG", flag, args.getValueFlag("TO"));
+            Assert.assertSame("CACHE: FLAG", args.get(2), flag.getValue());
+            Assert.assertSame("CACHE: FLAG", flag,
+                    args.getValueFlags("to").get(0));
+
+            // Test the raw String is kept once created
+            Assert.assertSame("CACHE: STRING", args.getString(3),
+                    args.getString(3));
+            Assert.assertSame("CACHE: STRING", args.get(3).get(),
+                    args.getString(1, false));
+        }
+
+        // Test resetting clears the caches
+        Arguments args = Arguments.parse("a -f x b");
+        Argument before = args.get(0);
+        Flag flagBefore = args.getValueFlag("f");
+        args.resetLine("c -f y d");
+        Assert.assertNotSame("CACHE: RESET", before, args.get(0));
+        Assert.assertEquals("CACHE: RESET", "c", args.getString(0));
+        Assert.assertNotSame("CACHE: RESET", flagBefore,
+                args.getValueFlag("f"));
+        Assert.assertEquals("CACHE: RESET", "y",
+                args.getValueFlag("f").getRawValue());
+        Assert.assertEquals("CACHE: RESET", "a", before.get());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+
+public class TestCompare {
+    @Test
+    public void runTest() {
+        Arguments args = Arguments.parse(
+                "build --Target=Release Stra\u00dfe");
+        Argument command = args.get(0);
+
+        // Test comparisons without copying
+        Assert.assertTrue("COMPARE: IGNORE CASE",
+                command.equalsIgnoreCase("BUILD"));
+        Assert.assertFalse("COMPARE: IGNORE CASE",
+                command.equalsIgnoreCase("builds"));
+        Assert.assertFalse("COMPARE: IGNORE CASE",
+                command.equalsIgnoreCase(null));
+        Assert.assertTrue("COMPARE: PREFIX",
+                command.startsWithIgnoreCase("BU"));
+        Assert.assertFalse("COMPARE: PREFIX",
+                command.startsWithIgnoreCase("builder"));
+        Assert.assertTrue("COMPARE: REGION",
+                command.regionMatches(true, 1, "xUIL", 1, 3));
+        Assert.assertFalse("COMPARE: REGION",
+                command.regionMatches(false, 1, "xUIL", 1, 3));
+        Assert.assertFalse("COMPARE: REGION",
+                command.regionMatches(false, 3, "ldx", 0, 3));
+        Assert.assertTrue("COMPARE: CONTENT", command.contentEquals("build"));
+        Assert.assertTrue("COMPARE: UNICODE", new Argument("\u00c9T\u00c9")
+                .equalsIgnoreCase("\u00e9t\u00e9"));
+
+        // Test CharSequence views
+        Argument value = args.get(1);
+        Assert.assertEquals("COMPARE: LENGTH", 16, value.length());
+        Assert.assertEquals("COMPARE: CHAR", 'T', value.charAt(2));
+        Argument sub = value.subSequence(9, 16);
+        Assert.assertEquals("COMPARE: VIEW", "Release", sub.get());
+        Assert.assertEquals("COMPARE: VIEW", new Argument("Release"), sub);
+        Assert.assertEquals("COMPARE: VIEW", "Rel",
+                value.substring(9).substring(0, 3).get());
+        Assert.assertSame("COMPARE: VIEW", value, value.subSequence(0, 16));
+        Assert.assertTrue("COMPARE: SEQUENCE", "Release".contentEquals(sub));
+        try {
+            value.subSequence(4, 17);
+            Assert.fail("COMPARE: BOUNDS");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            value.charAt(16);
+            Assert.fail("COMPARE: BOUNDS");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        // Test locale-independent case conversion
+        Assert.assertSame("COMPARE: CASE", command, command.toLowerCase());
+        Assert.assertEquals("COMPARE: CASE", "BUILD",
+                command.toUpperCase().get());
+        Assert.assertEquals("COMPARE: CASE", "--target=release",
+                value.toLowerCase().get());
+        Assert.assertEquals("COMPARE: CASE", "STRASSE",
+                args.get(2).toUpperCase().get());
+        Assert.assertEquals("COMPARE: CASE", "title",
+                new Argument("TITLE").toLowerCase().get());
+    }
+}
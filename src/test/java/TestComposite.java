@@ -0,0 +1,107 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.KeyValueCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class TestComposite {
+    @Test
+    public void runTest() {
+        Arguments args = Arguments.parse(
+                "fill a,,b, 1..64 -5..5 radius=3;shape=sphere;hollow 9");
+
+        // Test element lists
+        List<Argument> elements = args.get(1).split(',');
+        Assert.assertEquals("COMPOSITE: SIZE", 4, elements.size());
+        Assert.assertEquals("COMPOSITE: ELEMENT", "a", elements.get(0).get());
+        Assert.assertEquals("COMPOSITE: ELEMENT", "", elements.get(1).get());
+        Assert.assertEquals("COMPOSITE: ELEMENT", "b", elements.get(2).get());
+        Assert.assertEquals("COMPOSITE: ELEMENT", "", elements.get(3).get());
+        Assert.assertEquals("COMPOSITE: ELEMENT", "a", elements.get(0).get());
+        List<String> iterated = new ArrayList<>();
+        for (Argument element : elements) {
+            iterated.add(element.get());
+        }
+        Assert.assertEquals("COMPOSITE: ITERATE",
+                Arrays.asList("a", "", "b", ""), iterated);
+        try {
+            elements.get(4);
+            Assert.fail("COMPOSITE: BOUNDS");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        Assert.assertEquals("COMPOSITE: SINGLE", 1,
+                new Argument("x").split(',').size());
+        Assert.assertTrue("COMPOSITE: EMPTY",
+                new Argument("").split(',').isEmpty());
+        Assert.assertEquals("COMPOSITE: NUMBERS", 3,
+                new Argument("1:2:3").split(':').get(2).asInt());
+
+        // Test ranges
+        Argument range = args.get(2);
+        Assert.assertTrue("COMPOSITE: RANGE", range.isRange());
+        Assert.assertEquals("COMPOSITE: RANGE", 1, range.asRangeFrom());
+        Assert.assertEquals("COMPOSITE: RANGE", 64, range.asRangeTo());
+        Assert.assertEquals("COMPOSITE: RANGE", -5, args.get(3).asRangeFrom());
+        Assert.assertEquals("COMPOSITE: RANGE", 5, args.get(3).asRangeTo());
+        for (String bad : new String[] { "", "..", "1..", "..2", "1...2",
+                "1.2", "a..b", "1..2..3" }) {
+            Assert.assertFalse("COMPOSITE: RANGE " + bad,
+                    new Argument(bad).isRange());
+        }
+        try {
+            new Argument("12").asRangeFrom();
+            Assert.fail("COMPOSITE: THROW");
+        } catch (NumberFormatException expected) {
+        }
+
+        // Test key/value pairs
+        KeyValueCursor cursor = args.get(4).pairs(';', '=');
+        Assert.assertTrue("COMPOSITE: PAIR", cursor.next());
+        Assert.assertTrue("COMPOSITE: PAIR", cursor.keyEquals("RADIUS"));
+        Assert.assertEquals("COMPOSITE: PAIR", 3, cursor.value().asInt());
+        Assert.assertTrue("COMPOSITE: PAIR", cursor.next());
+        Assert.assertEquals("COMPOSITE: PAIR", "shape", cursor.key().get());
+        Assert.assertEquals("COMPOSITE: PAIR", "sphere", cursor.value().get());
+        Assert.assertTrue("COMPOSITE: PAIR", cursor.next());
+        Assert.assertEquals("COMPOSITE: PAIR", "hollow", cursor.key().get());
+        Assert.assertFalse("COMPOSITE: PAIR", cursor.hasValue());
+        Assert.assertEquals("COMPOSITE: PAIR", "", cursor.value().get());
+        Assert.assertFalse("COMPOSITE: PAIR", cursor.next());
+        try {
+            cursor.key();
+            Assert.fail("COMPOSITE: PAIR");
+        } catch (NoSuchElementException expected) {
+        }
+        Assert.assertFalse("COMPOSITE: PAIR",
+                new Argument("").pairs(';', '=').next());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Converter;
+import pw.ollie.args.Converters;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.math.BigInteger;
+import java.util.UUID;
+
+public class TestConvert {
+    @Test
+    public void runTest() {
+        // Test built-in converters
+        Argument number = new Argument("42");
+        Assert.assertEquals("CONVERT: INT", Integer.valueOf(42),
+                number.as(int.class));
+        Assert.assertEquals("CONVERT: INT", Integer.valueOf(42),
+                number.as(Integer.class));
+        Assert.assertEquals("CONVERT: LONG", Long.valueOf(42),
+                number.as(long.class));
+        Assert.assertEquals("CONVERT: DOUBLE", 42.0, number.as(double.class),
+                0);
+        Assert.assertEquals("CONVERT: BYTE", Byte.valueOf((byte) 42),
+                number.as(byte.class));
+        Assert.assertEquals("CONVERT: STRING", "42", number.as(String.class));
+        Assert.assertSame("CONVERT: ARGUMENT", number,
+                number.as(Argument.class));
+        Assert.assertEquals("CONVERT: BIG", BigInteger.TEN.pow(30),
+                new Argument("1000000000000000000000000000000")
+                        .as(BigInteger.class));
+        Assert.assertEquals("CONVERT: BOOLEAN", Boolean.TRUE,
+                new Argument("TRUE").as(boolean.class));
+        Assert.assertEquals("CONVERT: CHAR", Character.valueOf('x'),
+                new Argument("x").as(char.class));
+        Assert.assertEquals("CONVERT: ENUM", Mode.CREATIVE,
+                new Argument("creative").as(Mode.class));
+
+        // Test reflective converters
+        UUID id = UUID.randomUUID();
+        Assert.assertEquals("CONVERT: REFLECTIVE", "ab",
+                new Argument("ab").as(StringBuilder.class).toString());
+        Assert.assertFalse("CONVERT: REFLECTIVE", Converters.has(Number.class));
+
+        // Test registered converters
+        Assert.assertFalse("CONVERT: MISSING", Converters.has(UUID.class));
+        try {
+            new Argument(id.toString()).as(UUID.class);
+            Assert.fail("CONVERT: MISSING");
+        } catch (IllegalArgumentException expected) {
+        }
+        Converter<UUID> uuids = argument -> UUID.fromString(argument.get());
+        Converters.register(UUID.class, uuids);
+        Assert.assertSame("CONVERT: REGISTERED", uuids,
+                Converters.get(UUID.class));
+        Assert.assertEquals("CONVERT: REGISTERED", id,
+                new Argument(id.toString()).as(UUID.class));
+        try {
+            Converters.register(int.class, Argument::asInt);
+            Assert.fail("CONVERT: BUILT IN");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        Assert.assertFalse("CONVERT: OBJECT", Converters.has(Object.class));
+
+        // Test unboxed conversions
+        Arguments numbers = Arguments.parse("3 100 -f 7 1.5");
+        Assert.assertEquals("CONVERT: UNBOXED", 103, numbers.positionals()
+                .limit(2).mapToInt(Converters.getInt(int.class)).sum());
+        Assert.assertEquals("CONVERT: UNBOXED", 103L, numbers.positionals()
+                .limit(2).mapToLong(Converters.getLong(byte.class)).sum());
+        Assert.assertEquals("CONVERT: UNBOXED", 104.5, numbers.positionals()
+                .mapToDouble(Converters.getDouble(Double.class)).sum(), 0);
+        try {
+            Converters.getInt(long.class);
+            Assert.fail("CONVERT: UNBOXED");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            Converters.getInt(byte.class).applyAsInt(new Argument("300"));
+            Assert.fail("CONVERT: UNBOXED");
+        } catch (NumberFormatException expected) {
+        }
+
+        // Test failures
+        try {
+            new Argument("x").as(int.class);
+            Assert.fail("CONVERT: FAIL");
+        } catch (NumberFormatException expected) {
+        }
+        try {
+            new Argument("spectator").as(Mode.class);
+            Assert.fail("CONVERT: FAIL");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new Argument("xy").as(char.class);
+            Assert.fail("CONVERT: FAIL");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Test parameters
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/gamemode <mode> <player>");
+        Params params = Arguments.parse(base, "survival Notch").getParams();
+        Assert.assertEquals("CONVERT: PARAMETER", Mode.SURVIVAL,
+                params.get("mode").as(Mode.class));
+    }
+
+    public enum Mode {
+        SURVIVAL, CREATIVE
+    }
+}
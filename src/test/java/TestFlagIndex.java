@@ -0,0 +1,91 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+
+public class TestFlagIndex {
+    @Test
+    public void runTest() {
+        // Test lookups ignore case, including non-ASCII names
+        Arguments args = Arguments.parse("x -\u00c4rger a"
+                + " --\u03a3\u03af\u03b3\u03bc\u03b1 -Name b --name");
+        Assert.assertEquals("INDEX: CASE", "a",
+                args.getValueFlag("\u00e4RGER").getRawValue());
+        Assert.assertTrue("INDEX: CASE",
+                args.hasNonValueFlag("\u03c3\u038a\u0393\u039c\u0391"));
+        Assert.assertTrue("INDEX: CASE",
+                args.hasNonValueFlag("\u03c2\u03af\u03b3\u03bc\u03b1"));
+        Assert.assertFalse("INDEX: CASE", args.hasValueFlag("arger"));
+
+        // Test the name check used by schemas folds in the same way
+        Assert.assertTrue("INDEX: NAME",
+                Arguments.isFlagName("\u00e4rger", "-\u00c4RGER", 1, 6));
+        Assert.assertFalse("INDEX: NAME",
+                Arguments.isFlagName("arger", "-\u00c4RGER", 1, 6));
+        Assert.assertFalse("INDEX: NAME",
+                Arguments.isFlagName("\u00e4rg", "-\u00c4RGER", 1, 6));
+
+        // Test flags with the same name but different kinds are separate
+        Assert.assertEquals("INDEX: KIND", "b",
+                args.getValueFlag("NAME").getRawValue());
+        Assert.assertTrue("INDEX: KIND", args.hasNonValueFlag("nAmE"));
+        Assert.assertEquals("INDEX: KIND", 1, args.countNonValueFlag("name"));
+
+        // Test names whose hashes are equal
+        Assert.assertEquals("INDEX: COLLIDE", "1_".hashCode(),
+                "2@".hashCode());
+        Arguments colliding = Arguments.parse("-1_ one -2@ two");
+        Assert.assertEquals("INDEX: COLLIDE", "one",
+                colliding.getValueFlag("1_").getRawValue());
+        Assert.assertEquals("INDEX: COLLIDE", "two",
+                colliding.getValueFlag("2@").getRawValue());
+        Assert.assertNull("INDEX: COLLIDE", colliding.getValueFlag("3!"));
+
+        // Test enough flags to fill many slots and grow the table
+        StringBuilder line = new StringBuilder("cmd");
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            line.append(i % 2 == 0 ? " -Flag" + i + " v" + i
+                    : " --\u00c9t\u00e9" + i);
+        }
+        Arguments many = Arguments.parse(line);
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                Assert.assertEquals("INDEX: MANY " + i, "v" + i,
+                        many.getValueFlag("fLAG" + i).getRawValue());
+                Assert.assertFalse("INDEX: MANY " + i,
+                        many.hasNonValueFlag("flag" + i));
+            } else {
+                Assert.assertTrue("INDEX: MANY " + i,
+                        many.hasNonValueFlag("\u00c9T\u00c9" + i));
+                Assert.assertFalse("INDEX: MANY " + i,
+                        many.hasValueFlag("\u00e9t\u00e9" + i));
+            }
+        }
+        Assert.assertFalse("INDEX: MANY", many.hasValueFlag("flag" + count));
+        Assert.assertFalse("INDEX: MANY", many.hasNonValueFlag("cmd"));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.FlagSyntax;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+public class TestGnu {
+    @Test
+    public void runTest() {
+        // Test long flags with values, clusters and the terminator
+        Arguments args = new Arguments().withSyntax(FlagSyntax.GNU)
+                .resetLine("ls -la --color=auto --all -n 5 x -- -file --y=z");
+        Assert.assertEquals("GNU: SYNTAX", FlagSyntax.GNU, args.getSyntax());
+        Assert.assertTrue("GNU: CLUSTER", args.hasNonValueFlag("l"));
+        Assert.assertTrue("GNU: CLUSTER", args.hasNonValueFlag("a"));
+        Assert.assertEquals("GNU: LONG", "auto",
+                args.getValueFlag("color").getRawValue());
+        Assert.assertEquals("GNU: LONG", "color",
+                args.getValueFlag("color").getName());
+        Assert.assertTrue("GNU: LONG", args.hasNonValueFlag("all"));
+        Assert.assertEquals("GNU: SHORT", 5,
+                args.getValueFlag("n").getValue().asInt());
+        Assert.assertEquals("GNU: POS", 4, args.length(false));
+        Assert.assertEquals("GNU: POS", "ls", args.getString(0, false));
+        Assert.assertEquals("GNU: POS", "x", args.getString(1, false));
+        Assert.assertEquals("GNU: TERM", "-file", args.getString(2, false));
+        Assert.assertEquals("GNU: TERM", "--y=z", args.getString(3, false));
+        Assert.assertFalse("GNU: TERM", args.hasValueFlag("y"));
+        Assert.assertEquals("GNU: ALL", 10, args.length());
+
+        // Test empty values and names
+        args.resetLine("--a= --=b -");
+        Assert.assertEquals("GNU: EMPTY", "",
+                args.getValueFlag("a").getRawValue());
+        Assert.assertEquals("GNU: EMPTY", 2, args.length(false));
+
+        // Test the default syntax is unchanged
+        Arguments simple = Arguments.parse("-la --color=auto -- x");
+        Assert.assertEquals("GNU: SIMPLE", "--color=auto",
+                simple.getValueFlag("la").getRawValue());
+        Assert.assertEquals("GNU: SIMPLE", 2, simple.length(false));
+
+        // Test clusters with declared flags
+        SimpleParamsBase paramsBase = SimpleParamsBase.fromUsageString(
+                "/tar [-x] [-v] [-f file] <dir>");
+        Arguments tar = new Arguments().withSyntax(FlagSyntax.GNU)
+                .resetLine(paramsBase, "-xvfa.tar out");
+        Assert.assertTrue("GNU: DECL", tar.hasNonValueFlag("x"));
+        Assert.assertTrue("GNU: DECL", tar.hasNonValueFlag("v"));
+        Assert.assertEquals("GNU: DECL", "a.tar",
+                tar.getValueFlag("f").getRawValue());
+        Assert.assertEquals("GNU: DECL", "out",
+                tar.getParams().get("dir").get());
+        tar.resetLine(paramsBase, "-xvf a.tar out");
+        Assert.assertEquals("GNU: DECL", "a.tar",
+                tar.getValueFlag("f").getRawValue());
+        Assert.assertEquals("GNU: DECL", "out",
+                tar.getParams().get("dir").get());
+
+        // Test clusters from pre-split and byte input
+        Arguments split = new Arguments().withSyntax(FlagSyntax.GNU)
+                .reset("-abcdefghijklmnop", "--k=v");
+        Assert.assertTrue("GNU: GROW", split.hasNonValueFlag("p"));
+        Assert.assertEquals("GNU: GROW", "v",
+                split.getValueFlag("k").getRawValue());
+        split.resetLine(java.nio.ByteBuffer.wrap(
+                "--name=caf\u00e9".getBytes(
+                        java.nio.charset.StandardCharsets.UTF_8)));
+        Assert.assertEquals("GNU: BYTES", "caf\u00e9",
+                split.getValueFlag("name").getRawValue());
+    }
+}
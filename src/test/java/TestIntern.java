@@ -0,0 +1,105 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Interner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestIntern {
+    @Test
+    public void runTest() throws Exception {
+        // Test that repeated values share a String
+        Arguments args = Arguments.parse("tp Notch world Notch world");
+        String first = args.get(1).getIntern();
+        Assert.assertEquals("INTERN: VALUE", "Notch", first);
+        Assert.assertSame("INTERN: SHARED", first, args.get(3).getIntern());
+        Assert.assertSame("INTERN: SHARED", args.get(2).getIntern(),
+                args.get(4).getIntern());
+        Assert.assertSame("INTERN: RAW", first, args.get(3).get());
+        Assert.assertNotSame("INTERN: TO STRING", "world".intern(),
+                args.get(2).toString());
+
+        // Test batch-local interning
+        Interner local = Interner.local();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Argument arg = Arguments.parse("give p" + (i % 100) + " stone")
+                    .get(1);
+            values.add(arg.getIntern(local));
+        }
+        for (int i = 100; i < values.size(); i++) {
+            Assert.assertSame("INTERN: LOCAL", values.get(i % 100),
+                    values.get(i));
+        }
+
+        // Test that bounded interners stay bounded and correct
+        Interner bounded = Interner.bounded(8);
+        for (int i = 0; i < 10000; i++) {
+            String value = "v" + (i % 50);
+            Assert.assertEquals("INTERN: BOUNDED", value,
+                    bounded.intern(new StringBuilder(value)));
+        }
+        String kept = bounded.intern("kept");
+        Assert.assertSame("INTERN: BOUNDED", kept,
+                bounded.intern(new StringBuilder("kept")));
+
+        // Test concurrent use
+        Interner shared = Interner.bounded(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        String value = "name" + (i % 300);
+                        if (!value.equals(shared.intern(value + "!", 0,
+                                value.length()))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue("INTERN: CONCURRENT", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            Interner.setDefault(null);
+            Assert.fail("INTERN: NULL");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.params.ParamKey;
+import pw.ollie.args.params.Parameter;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.ParamsBase;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.Collection;
+
+public class TestKeys {
+    @Test
+    public void runTest() {
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/ban <player> [reason]");
+        ParamKey player = base.key("player");
+        ParamKey reason = base.key("reason");
+
+        Assert.assertSame("KEYS: BASE", base, player.getBase());
+        Assert.assertEquals("KEYS: SLOT", 1, reason.getSlot());
+        Assert.assertEquals("KEYS: NAME", "player", player.getName());
+        try {
+            base.key("time");
+            Assert.fail("KEYS: UNKNOWN");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Test getting parameters by key
+        Params params = Arguments.parse(base, "Notch").getParams();
+        Assert.assertEquals("KEYS: GET", "Notch", params.get(player).get());
+        Assert.assertTrue("KEYS: HAS", params.has(player));
+        Assert.assertFalse("KEYS: HAS", params.has(reason));
+        Assert.assertNull("KEYS: GET", params.get(reason));
+
+        // Test keys from other bases fall back to the name
+        SimpleParamsBase other = SimpleParamsBase.fromUsageString(
+                "/kick <reason> <player>");
+        Assert.assertEquals("KEYS: OTHER", "Notch",
+                params.get(other.key("player")).get());
+        Assert.assertFalse("KEYS: OTHER", params.has(other.key("reason")));
+
+        // Test keys with slots the base doesn't give them
+        Assert.assertFalse("KEYS: SLOT", params.has(
+                new ParamKey(base, -1, "nope")));
+        Assert.assertNull("KEYS: SLOT", params.get(
+                new ParamKey(base, 5, "nope")));
+        Assert.assertEquals("KEYS: SLOT", "Notch", params.get(
+                new ParamKey(base, -1, "player")).get());
+        Assert.assertEquals("KEYS: SLOT", "Notch", params.get(
+                new ParamKey(base, 1, "player")).get());
+        Assert.assertFalse("KEYS: SLOT", params.has(
+                new ParamKey(base, 0, "reason")));
+
+        // Test the default presence check doesn't get the parameter
+        Params byName = new Params() {
+            @Override
+            public Arguments getArguments() {
+                return params.getArguments();
+            }
+
+            @Override
+            public Parameter get(String name) {
+                throw new AssertionError("KEYS: DEFAULT HAS GOT " + name);
+            }
+
+            @Override
+            public boolean has(String name) {
+                return params.has(name);
+            }
+
+            @Override
+            public Collection<String> parameters() {
+                return params.parameters();
+            }
+
+            @Override
+            public Collection<Parameter> values() {
+                return params.values();
+            }
+
+            @Override
+            public ParamsBase getBase() {
+                return base;
+            }
+
+            @Override
+            public boolean valid() {
+                return params.valid();
+            }
+        };
+        Assert.assertTrue("KEYS: DEFAULT", byName.has(player));
+        Assert.assertFalse("KEYS: DEFAULT", byName.has(reason));
+    }
+}
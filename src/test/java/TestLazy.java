@@ -0,0 +1,98 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.params.ParamKey;
+import pw.ollie.args.params.Parameter;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestLazy {
+    @Test
+    public void runTest() throws Exception {
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/mail send <player> <subject> [body]");
+        List<String> processed = new ArrayList<>();
+        base.registerProcessor((info, value) -> {
+            processed.add(info.getName());
+            return value.toUpperCase();
+        });
+
+        // Test that nothing is processed until a parameter is read
+        Params params = Arguments.parse(base, "send Notch hello hi")
+                .getParams();
+        Assert.assertTrue("LAZY: VALID", params.valid());
+        Assert.assertTrue("LAZY: NONE", processed.isEmpty());
+        Assert.assertTrue("LAZY: HAS", params.has("body"));
+        Assert.assertTrue("LAZY: HAS", params.has(base.key("subject")));
+        Assert.assertTrue("LAZY: NONE", processed.isEmpty());
+
+        // Test binding on first read
+        ParamKey subject = base.key("subject");
+        Parameter first = params.get(subject);
+        Assert.assertEquals("LAZY: PROCESSED", "HELLO", first.get());
+        Assert.assertSame("LAZY: ONCE", first, params.get("subject"));
+        Assert.assertEquals("LAZY: ONCE", 1, processed.size());
+        Assert.assertEquals("LAZY: VALUES", 3,
+                new ArrayList<>(params.values()).size());
+        Assert.assertEquals("LAZY: ALL", 3, processed.size());
+
+        // Test unprocessed parameters share the argument's characters
+        SimpleParamsBase plain = SimpleParamsBase.fromUsageString(
+                "/tp <x> <y> <z>");
+        Arguments args = Arguments.parse(plain, "1 64 3");
+        Params coords = args.getParams();
+        Assert.assertEquals("LAZY: SHARED", 3, coords.get("z").asInt());
+        Assert.assertEquals("LAZY: SHARED", "z", coords.get("z").getInfo()
+                .getName());
+        Assert.assertFalse("LAZY: INVALID", plain.createParams(
+                Arguments.parse("1 64")).valid());
+
+        // Test threads reading an unbound parameter all see the same one
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                Params shared = Arguments.parse(plain, "1 2 3").getParams();
+                List<Future<Parameter>> reads = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    reads.add(executor.submit(() -> shared.get("y")));
+                }
+                for (Future<Parameter> read : reads) {
+                    Assert.assertSame("LAZY: CONCURRENT", shared.get("y"),
+                            read.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
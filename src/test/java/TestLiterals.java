@@ -0,0 +1,83 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.LiteralSet;
+
+public class TestLiterals {
+    private enum Mode {
+        ADD, REMOVE, LIST, CLEAR_ALL
+    }
+
+    @Test
+    public void runTest() {
+        // Test literal sets
+        LiteralSet toggle = LiteralSet.of("on", "off");
+        Assert.assertEquals("LIT: SIZE", 2, toggle.size());
+        Assert.assertEquals("LIT: INDEX", 0, toggle.indexOf("ON"));
+        Assert.assertEquals("LIT: INDEX", 1, toggle.indexOf("oFf"));
+        Assert.assertEquals("LIT: INDEX", -1, toggle.indexOf("of"));
+        Assert.assertEquals("LIT: INDEX", -1, toggle.indexOf(""));
+        Assert.assertEquals("LIT: GET", "off", toggle.get(1));
+        Assert.assertTrue("LIT: ARG", new Argument("On").isIn(toggle));
+        Assert.assertFalse("LIT: ARG", new Argument("onn").isIn(toggle));
+        Assert.assertFalse("LIT: EMPTY", LiteralSet.of().contains("x"));
+        try {
+            LiteralSet.of("yes", "YES");
+            Assert.fail("LIT: DUPLICATE");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Test a larger set
+        String[] words = new String[200];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "word" + i;
+        }
+        LiteralSet large = LiteralSet.of(words);
+        for (int i = 0; i < words.length; i++) {
+            Assert.assertEquals("LIT: LARGE", i,
+                    large.indexOf("WORD" + i));
+        }
+        Assert.assertEquals("LIT: LARGE", -1, large.indexOf("word200"));
+
+        // Test enums, including arguments backed by a line
+        Arguments args = Arguments.parse("remove clear_all nope");
+        Assert.assertSame("LIT: ENUM", Mode.REMOVE,
+                args.get(0).asEnum(Mode.class));
+        Assert.assertSame("LIT: ENUM", Mode.CLEAR_ALL,
+                args.get(1).asEnum(Mode.class));
+        Assert.assertNull("LIT: ENUM", args.get(2).asEnum(Mode.class));
+        Assert.assertSame("LIT: ENUM", Mode.LIST,
+                args.get(2).asEnum(Mode.class, Mode.LIST));
+        Assert.assertTrue("LIT: ENUM", args.get(0).isEnum(Mode.class));
+        Assert.assertFalse("LIT: ENUM", args.get(2).isEnum(Mode.class));
+        Assert.assertSame("LIT: CACHE", LiteralSet.forEnum(Mode.class),
+                LiteralSet.forEnum(Mode.class));
+        Assert.assertEquals("LIT: ORDER", 1, args.get(0).indexIn(
+                LiteralSet.forEnum(Mode.class)));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.params.ParamInfo;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.ParamsBase;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.function.BiFunction;
+
+public class TestMatches {
+    @Test
+    public void runTest() {
+        SimpleParamsBase byName = SimpleParamsBase.fromUsageString(
+                "/home <name>");
+        SimpleParamsBase byOwner = SimpleParamsBase.fromUsageString(
+                "/home <owner> <name> [-sort order]");
+        SimpleParamsBase flagged = SimpleParamsBase.fromUsageString(
+                "/home set <name> <-at x y z>");
+
+        // Test choosing between overloads
+        ParamsBase[] overloads = { flagged, byOwner, byName };
+        String[] lines = { "base", "Notch base", "set base -at 1 2 3",
+                "set base", "" };
+        for (String line : lines) {
+            for (ParamsBase base : overloads) {
+                Arguments args = Arguments.parse(base, line);
+                Assert.assertEquals("MATCHES: SAME AS VALID " + line,
+                        base.createParams(args).valid(), base.matches(args));
+            }
+        }
+        Assert.assertTrue("MATCHES: NAME",
+                byName.matches(Arguments.parse("base")));
+        Assert.assertFalse("MATCHES: OWNER",
+                byOwner.matches(Arguments.parse("base")));
+        Assert.assertTrue("MATCHES: FLAG", flagged.matches(
+                Arguments.parse(flagged, "set base -at 1 2 3")));
+        Assert.assertFalse("MATCHES: FLAG",
+                flagged.matches(Arguments.parse("set base")));
+
+        // Test the default falls back to creating params
+        ParamsBase wrapped = new ParamsBase() {
+            @Override
+            public Params createParams(Arguments args) {
+                return byName.createParams(args);
+            }
+
+            @Override
+            public int length() {
+                return byName.length();
+            }
+
+            @Override
+            public int getAmtRequired() {
+                return byName.getAmtRequired();
+            }
+
+            @Override
+            public void registerProcessor(
+                    BiFunction<ParamInfo, String, String> processor) {
+            }
+
+            @Override
+            public void unregisterProcessor(
+                    BiFunction<ParamInfo, String, String> processor) {
+            }
+        };
+        Assert.assertTrue("MATCHES: DEFAULT",
+                wrapped.matches(Arguments.parse("base")));
+        Assert.assertFalse("MATCHES: DEFAULT",
+                wrapped.matches(Arguments.parse("")));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+
+public class TestNumbers {
+    @Test
+    public void runTest() {
+        // Test validation without exceptions
+        Assert.assertTrue("NUM: INT", new Argument("-2147483648").isInt());
+        Assert.assertFalse("NUM: INT", new Argument("2147483648").isInt());
+        Assert.assertTrue("NUM: LONG", new Argument("2147483648").isLong());
+        Assert.assertFalse("NUM: SHORT", new Argument("40000").isShort());
+        Assert.assertFalse("NUM: INT", new Argument("12a").isInt());
+        Assert.assertTrue("NUM: DOUBLE", new Argument(" -1.5e3f ").isDouble());
+        Assert.assertTrue("NUM: DOUBLE", new Argument("0x1.8p1").isDouble());
+        Assert.assertTrue("NUM: DOUBLE", new Argument("NaN").isDouble());
+        Assert.assertFalse("NUM: DOUBLE", new Argument("1e").isDouble());
+        Assert.assertFalse("NUM: DOUBLE", new Argument(".").isDouble());
+        Assert.assertTrue("NUM: FLOAT", new Argument(".5").isFloat());
+
+        // Test fallbacks
+        Argument bad = new Argument("nope");
+        Assert.assertEquals("NUM: FALLBACK", -1, bad.asInt(-1));
+        Assert.assertEquals("NUM: FALLBACK", 7L, bad.asLong(7L));
+        Assert.assertEquals("NUM: FALLBACK", 3, bad.asShort((short) 3));
+        Assert.assertEquals("NUM: FALLBACK", 0.5, bad.asDouble(0.5), 0);
+        Assert.assertEquals("NUM: FALLBACK", 0.25f, bad.asFloat(0.25f), 0);
+        Assert.assertEquals("NUM: FALLBACK", 42,
+                new Argument("42").asInt(-1));
+        Assert.assertEquals("NUM: FALLBACK", 0.1,
+                new Argument("0.1").asDouble(0), 0);
+        Assert.assertEquals("NUM: FALLBACK", 0.1f,
+                new Argument("0.1").asFloat(0), 0);
+
+        // Test optionals
+        Assert.assertFalse("NUM: OPT", bad.tryInt().isPresent());
+        Assert.assertFalse("NUM: OPT", bad.tryLong().isPresent());
+        Assert.assertFalse("NUM: OPT", bad.tryDouble().isPresent());
+        Assert.assertEquals("NUM: OPT", Long.MIN_VALUE,
+                new Argument("-9223372036854775808").tryLong().getAsLong());
+        Assert.assertTrue("NUM: OPT",
+                Double.isNaN(new Argument("NaN").tryDouble().getAsDouble()));
+        Assert.assertEquals("NUM: OPT", 12,
+                new Argument("+12").tryInt().getAsInt());
+
+        // Test exceptions are still thrown by the plain methods
+        try {
+            bad.asDouble();
+            Assert.fail("NUM: THROW");
+        } catch (NumberFormatException expected) {
+        }
+        Assert.assertTrue("NUM: THROW",
+                Double.isNaN(new Argument("NaN").asDouble()));
+
+        // Test the cached values agree with the JDK
+        for (String value : new String[] { "-0", "0", "16777217", "1e3",
+                "-9223372036854775808", "99999999999999999999", "0.1" }) {
+            Argument arg = new Argument(value);
+            Assert.assertEquals("NUM: CACHE", Double.parseDouble(value),
+                    arg.asDouble(), 0);
+            Assert.assertEquals("NUM: CACHE",
+                    Double.doubleToRawLongBits(Double.parseDouble(value)),
+                    Double.doubleToRawLongBits(arg.asDouble()));
+            Assert.assertEquals("NUM: CACHE",
+                    Float.floatToRawIntBits(Float.parseFloat(value)),
+                    Float.floatToRawIntBits(arg.asFloat()));
+            Assert.assertEquals("NUM: CACHE", Double.parseDouble(value),
+                    arg.asDouble(), 0);
+        }
+
+        // Test the types found in one scan agree with the JDK
+        for (String value : new String[] { "", "+", "-", "+7", " 5", "5 ",
+                " -NaN ", "+Infinity", "Na", "NaNa", "1.5.", "1d", "0x10",
+                "1_000", "9223372036854775807", "-9223372036854775809",
+                "1\u0661", "\u0661.5", "-\u0661\u0662e1" }) {
+            Argument arg = new Argument(value);
+            Assert.assertEquals("NUM: SCAN " + value, isLong(value),
+                    arg.isLong());
+            Assert.assertEquals("NUM: SCAN " + value, isDouble(value),
+                    arg.isDouble());
+            if (arg.isLong()) {
+                Assert.assertEquals("NUM: SCAN " + value,
+                        Long.parseLong(value), arg.asLong());
+            }
+            if (arg.isDouble()) {
+                Assert.assertEquals("NUM: SCAN " + value,
+                        Double.parseDouble(value), arg.asDouble(), 0);
+            }
+        }
+
+        // Test booleans and chars
+        Assert.assertTrue("NUM: BOOL", new Argument("TRUE").asBoolean());
+        Assert.assertFalse("NUM: BOOL", new Argument("TRUE").isBoolean());
+        Assert.assertFalse("NUM: BOOL", new Argument("yes").asBoolean());
+        Assert.assertEquals("NUM: CHAR", 'x', new Argument("x").asChar('-'));
+        Assert.assertEquals("NUM: CHAR", '-', new Argument("xy").asChar('-'));
+
+        // Test arguments backed by a line
+        Arguments args = Arguments.parse("x 1.25 -n 1e300");
+        Assert.assertEquals("NUM: LINE", 1.25, args.get(1).asDouble(), 0);
+        Assert.assertEquals("NUM: LINE", 1e300,
+                args.getValueFlag("n").getValue().asDouble(0), 0);
+
+        // Test non-ASCII digits are longs but not doubles, as with the JDK
+        for (String digits : new String[] { "\u0661\u0662", "\uff11",
+                "-\u0661" }) {
+            Argument arg = new Argument(digits);
+            Assert.assertEquals("NUM: UNICODE", Long.parseLong(digits),
+                    arg.asLong());
+            Assert.assertTrue("NUM: UNICODE", arg.isInt());
+            Assert.assertFalse("NUM: UNICODE", arg.isDouble());
+            Assert.assertFalse("NUM: UNICODE", arg.isFloat());
+            Assert.assertEquals("NUM: UNICODE", -1.0, arg.asDouble(-1), 0);
+            try {
+                arg.asDouble();
+                Assert.fail("NUM: UNICODE");
+            } catch (NumberFormatException expected) {
+            }
+            try {
+                arg.asFloat();
+                Assert.fail("NUM: UNICODE");
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    private static boolean isLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDouble(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
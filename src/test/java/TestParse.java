@@ -0,0 +1,177 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Peek;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class TestParse {
+    @Test
+    public void runTest() {
+        // Test splitting on repeated whitespace
+        Arguments args = Arguments.parse("  subcommand   -f value\toff on ");
+
+        Assert.assertEquals("PARSE: LEN", 5, args.length());
+        Assert.assertEquals("PARSE: SPLIT", "subcommand", args.getString(0));
+        Assert.assertEquals("PARSE: SPLIT", "off", args.getString(1, false));
+        Assert.assertEquals("PARSE: SPLIT", "on", args.getString(2, false));
+        Assert.assertEquals("PARSE: FLAG", "value",
+                args.getValueFlag("F").getRawValue());
+        Assert.assertEquals("PARSE: SPAN", 2, args.getStartOffset(0));
+        Assert.assertEquals("PARSE: SPAN", 12, args.getEndOffset(0));
+        Assert.assertEquals("PARSE: SPAN", "off", args.getLine().substring(
+                args.getStartOffset(1, false), args.getEndOffset(1, false)));
+
+        // Test quotes and escapes
+        Arguments quoted = Arguments.parse(
+                "say -msg \"hello \\\"world\\\"\" 'single quoted' don't a\\ b"
+                        + " --loud \"\"");
+
+        Assert.assertEquals("QUOTE: LEN", 8, quoted.length());
+        Assert.assertEquals("QUOTE: FLAG", "hello \"world\"",
+                quoted.getValueFlag("msg").getRawValue());
+        Assert.assertEquals("QUOTE: SINGLE", "single quoted",
+                quoted.getString(1, false));
+        Assert.assertEquals("QUOTE: INNER", "don't", quoted.getString(2, false));
+        Assert.assertEquals("QUOTE: ESCAPE", "a b", quoted.getString(3, false));
+        Assert.assertEquals("QUOTE: EMPTY", "", quoted.getString(4, false));
+        Assert.assertTrue("QUOTE: NVFLAG", quoted.hasNonValueFlag("loud"));
+        Assert.assertEquals("QUOTE: SPAN", 27, quoted.getStartOffset(1, false));
+        Assert.assertEquals("QUOTE: SPAN", 42, quoted.getEndOffset(1, false));
+        Assert.assertEquals("QUOTE: SPAN", 49, quoted.getStartOffset(3, false));
+        Assert.assertEquals("QUOTE: SPAN", 53, quoted.getEndOffset(3, false));
+
+        // Test an unterminated quote and an unparsed line
+        Arguments unterminated = Arguments.parse("a \"b c");
+
+        Assert.assertEquals("UNTERM: LEN", 2, unterminated.length());
+        Assert.assertEquals("UNTERM: VAL", "b c", unterminated.getString(1));
+        Assert.assertArrayEquals("UNTERM: ARR", new String[] { "a", "b c" },
+                unterminated.toStringArray());
+        Assert.assertEquals("SPLIT: SPAN", -1,
+                new Arguments("a", "b").getStartOffset(1));
+        Assert.assertEquals("EMPTY: LEN", 0, Arguments.parse(" ").length());
+    
+        // Test parsing UTF-8 from heap and direct buffers
+        byte[] bytes = "give  -count 64 \"caf\u00e9 cr\u00e8me\" --Silent"
+                .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.allocate(bytes.length + 2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        for (ByteBuffer buffer : new ByteBuffer[] { heap, direct }) {
+            // put the line after a byte which shouldn't be parsed
+            buffer.put((byte) 'x').put(bytes).flip();
+            buffer.position(1);
+
+            Arguments fromBytes = Arguments.parse(buffer);
+
+            Assert.assertEquals("BYTES: LEN", 5, fromBytes.length());
+            Assert.assertEquals("BYTES: POS", 1, buffer.position());
+            Assert.assertEquals("BYTES: INT", 64,
+                    fromBytes.getValueFlag("COUNT").getValue().asInt());
+            Assert.assertEquals("BYTES: UTF8", "caf\u00e9 cr\u00e8me",
+                    fromBytes.getString(1, false));
+            Assert.assertTrue("BYTES: NVFLAG",
+                    fromBytes.hasNonValueFlag("silent"));
+            Assert.assertEquals("BYTES: SPAN", 16,
+                    fromBytes.getStartOffset(1, false));
+            Assert.assertEquals("BYTES: SPAN", 30,
+                    fromBytes.getEndOffset(1, false));
+            Assert.assertEquals("BYTES: EQ", new Argument("give"),
+                    fromBytes.get(0));
+            Assert.assertEquals("BYTES: HASH", "give".hashCode(),
+                    fromBytes.get(0).hashCode());
+            Assert.assertNull("BYTES: LINE", fromBytes.getLine());
+        }
+    
+        // Test only ASCII whitespace separates tokens, in chars and bytes
+        String spaced = "a\u2003b\u00a0c\td\u001fe";
+        Arguments fromChars = Arguments.parse(spaced);
+        Arguments fromBytes = Arguments.parse(ByteBuffer.wrap(
+                spaced.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("SEPARATOR: LEN", 3, fromChars.length());
+        Assert.assertArrayEquals("SEPARATOR: SAME", fromChars.toStringArray(),
+                fromBytes.toStringArray());
+        Assert.assertEquals("SEPARATOR: TOKEN", "a\u2003b\u00a0c",
+                fromBytes.getString(0));
+    
+        // Test peeking at the first positional arguments
+        String line = "-v 2 admin --quiet ban Steve -reason \"being rude\"";
+        Peek[] peeks = { Arguments.peek(2, line),
+                Arguments.peek(2, ByteBuffer.wrap(
+                        line.getBytes(StandardCharsets.UTF_8))),
+                Arguments.peek(2, "-v", "2", "admin", "--quiet", "ban",
+                        "Steve", "-reason", "being rude") };
+        for (Peek peek : peeks) {
+            Assert.assertEquals("PEEK: SIZE", 2, peek.size());
+            Assert.assertEquals("PEEK: CMD", "admin", peek.getString(0));
+            Assert.assertEquals("PEEK: SUB", "ban", peek.get(1).get());
+            Assert.assertFalse("PEEK: DONE", peek.isComplete());
+
+            Arguments resumed = peek.resume();
+            Assert.assertSame("PEEK: SAME", resumed, peek.resume());
+            Assert.assertEquals("PEEK: LEN", 8, resumed.length());
+            Assert.assertEquals("PEEK: POS", "Steve",
+                    resumed.getString(2, false));
+            Assert.assertEquals("PEEK: FLAG", "being rude",
+                    resumed.getValueFlag("reason").getRawValue());
+            Assert.assertEquals("PEEK: FLAG", "2",
+                    resumed.getValueFlag("v").getRawValue());
+            Assert.assertTrue("PEEK: NVFLAG", resumed.hasNonValueFlag("quiet"));
+        }
+
+        Peek all = Arguments.peek(5, line);
+        Assert.assertTrue("PEEK: DONE", all.isComplete());
+        Assert.assertEquals("PEEK: SIZE", 3, all.size());
+        Assert.assertEquals("PEEK: SIZE", 0,
+                Arguments.peek(1, "-flag only").size());
+
+        // Test peeking with the flags declared by a schema
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/cmd sub [-v] <name>");
+        String flagged = "sub -v x";
+        Peek[] schemaPeeks = { Arguments.peek(base, 2, flagged),
+                Arguments.peek(base, 2, ByteBuffer.wrap(
+                        flagged.getBytes(StandardCharsets.UTF_8))),
+                Arguments.peek(base, 2, "sub", "-v", "x"),
+                Arguments.peek(1, flagged) };
+        for (Peek peek : schemaPeeks) {
+            Arguments resumed = peek.resume(base);
+            Assert.assertTrue("PEEK: SCHEMA", resumed.getParams().valid());
+            Assert.assertEquals("PEEK: SCHEMA", "x",
+                    resumed.getParams().get("name").get());
+            Assert.assertTrue("PEEK: SCHEMA", resumed.hasNonValueFlag("v"));
+        }
+        try {
+            Arguments.peek(2, flagged).resume(base);
+            Assert.fail("PEEK: NO SCHEMA");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.ArgumentsPool;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+public class TestPool {
+    @Test
+    public void runTest() {
+        SimpleParamsBase paramsBase = SimpleParamsBase.fromUsageString(
+                "/command subcommand <-f lol> <option1> [optional]");
+        ArgumentsPool pool = new ArgumentsPool(4, true);
+
+        // Test resetting with a params base
+        Arguments args = pool.acquire().resetLine(paramsBase,
+                "subcommand -f value off on");
+        Params params = args.getParams();
+        Assert.assertEquals("POOL: PARSE", "value",
+                args.getValueFlag("f").getRawValue());
+        Assert.assertEquals("POOL: PARAM", "off", params.get("option1").get());
+        Assert.assertTrue("POOL: VALID", params.valid());
+        pool.release(args);
+
+        // Test using released arguments
+        try {
+            args.getString(0);
+            Assert.fail("POOL: RELEASED");
+        } catch (IllegalStateException expected) {
+            Assert.assertNotNull("POOL: CAUSE", expected.getCause());
+        }
+        try {
+            pool.release(args);
+            Assert.fail("POOL: DOUBLE");
+        } catch (IllegalStateException expected) {
+        }
+
+        // Test reuse of the arguments and params
+        Arguments reused = pool.acquire();
+        Assert.assertSame("POOL: REUSE", args, reused);
+        Assert.assertEquals("POOL: EMPTY", 0, reused.length());
+        reused.reset(paramsBase, "subcommand", "other");
+        Assert.assertSame("POOL: PREUSE", params, reused.getParams());
+        Assert.assertEquals("POOL: PARAM", "other",
+                reused.getParams().get("option1").get());
+        Assert.assertFalse("POOL: OPT", reused.getParams().has("optional"));
+        Assert.assertFalse("POOL: INV", reused.getParams().valid());
+        Assert.assertFalse("POOL: FLAG", reused.hasValueFlag("f"));
+
+        // Test growing the tables of reused arguments
+        reused.reset("a -b c --d e f g h i j k".split(" "));
+        Assert.assertEquals("POOL: GROW", 11, reused.length());
+        Assert.assertEquals("POOL: GROW", "k", reused.getString(7, false));
+        reused.resetLine("x --y");
+        Assert.assertEquals("POOL: SHRINK", 2, reused.length());
+        Assert.assertTrue("POOL: SHRINK", reused.hasNonValueFlag("y"));
+        Assert.assertFalse("POOL: SHRINK", reused.hasValueFlag("b"));
+        Assert.assertEquals("POOL: SHRINK", 2, reused.getStartOffset(1));
+
+        // Test a single String is one argument, as with the constructor
+        Assert.assertEquals("POOL: SPLIT", new Arguments("a b").length(),
+                reused.reset("a b").length());
+        Assert.assertEquals("POOL: SPLIT", "a b", reused.getString(0));
+        Assert.assertEquals("POOL: LINE", 2, reused.resetLine("a b").length());
+        pool.release(reused);
+    }
+}
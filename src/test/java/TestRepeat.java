@@ -0,0 +1,86 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Flag;
+import pw.ollie.args.FlagSyntax;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.List;
+
+public class TestRepeat {
+    @Test
+    public void runTest() {
+        Arguments args = Arguments.parse(
+                "batch -tag a --v -TAG b x --v -tag c --tag -other d --V");
+
+        // Test repeated value flags are kept in order
+        List<Flag> tags = args.getValueFlags("tag");
+        Assert.assertEquals("REP: SIZE", 3, tags.size());
+        Assert.assertEquals("REP: ORDER", "a", tags.get(0).getRawValue());
+        Assert.assertEquals("REP: ORDER", "b", tags.get(1).getRawValue());
+        Assert.assertEquals("REP: ORDER", "c", tags.get(2).getRawValue());
+        Assert.assertSame("REP: FIRST", args.getValueFlag("tag"), tags.get(0));
+        Assert.assertArrayEquals("REP: INDEX", new int[] { 2, 5, 9 },
+                args.getValueFlagIndices("tag").toArray());
+
+        // Test non-value flags are counted separately
+        Assert.assertEquals("REP: COUNT", 3, args.countNonValueFlag("v"));
+        Assert.assertEquals("REP: COUNT", 1, args.countNonValueFlag("tag"));
+        Assert.assertEquals("REP: COUNT", 0, args.countNonValueFlag("tags"));
+        Assert.assertTrue("REP: NONE", args.getValueFlags("v").isEmpty());
+        Assert.assertEquals("REP: NONE", 0,
+                args.getValueFlagIndices("none").count());
+        Assert.assertEquals("REP: OTHER", "d",
+                args.getValueFlags("other").get(0).getRawValue());
+
+        // Test many repeats
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            line.append("-n ").append(i).append(" --flag").append(i % 7)
+                    .append(' ');
+        }
+        args.resetLine(line);
+        List<Flag> values = args.getValueFlags("n");
+        Assert.assertEquals("REP: MANY", 500, values.size());
+        for (int i = 0; i < 500; i++) {
+            Assert.assertEquals("REP: MANY", i, values.get(i).getValue().asInt());
+        }
+        Assert.assertEquals("REP: MANY", 72, args.countNonValueFlag("flag0"));
+
+        // Test the value indices of inline and multi-valued flags
+        Arguments gnu = new Arguments().withSyntax(FlagSyntax.GNU)
+                .resetLine("--k=v x --k=w");
+        Assert.assertArrayEquals("REP: INLINE", new int[] { 0, 2 },
+                gnu.getValueFlagIndices("k").toArray());
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/draw [--size w h]");
+        Arguments sized = Arguments.parse(base, "--size 3 4 y --size 5 6");
+        Assert.assertArrayEquals("REP: MULTI", new int[] { 1, 2, 5, 6 },
+                sized.getValueFlagIndices("size").toArray());
+        Assert.assertEquals("REP: MULTI", "6", sized.getString(6));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Flag;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+public class TestSchema {
+    @Test
+    public void runTest() {
+        SimpleParamsBase paramsBase = SimpleParamsBase.fromUsageString(
+                "/command sub <-f file> [-v] [--size w h] <option1> [optional]");
+        Assert.assertEquals("SCH: Length", 2, paramsBase.length());
+        Assert.assertEquals("SCH: FLA", 1, paramsBase.getAmtRequiredFlags());
+        Assert.assertEquals("SCH: ARITY", 1, paramsBase.getFlagArity("F", 0, 1));
+        Assert.assertEquals("SCH: ARITY", 0, paramsBase.getFlagArity("v", 0, 1));
+        Assert.assertEquals("SCH: ARITY", 2,
+                paramsBase.getFlagArity("xsize", 1, 5));
+        Assert.assertEquals("SCH: ARITY", -1,
+                paramsBase.getFlagArity("q", 0, 1));
+        Assert.assertEquals("SCH: ARITY", -1,
+                paramsBase.getFlagArity("sizes", 0, 5));
+
+        // Test declared flag names ignore case beyond ASCII
+        SimpleParamsBase accented = SimpleParamsBase.fromUsageString(
+                "/command [-\u00e9t\u00e9 v]"
+                + " [--\u03c3\u03b9\u03b3\u03bc\u03b1]");
+        Assert.assertEquals("SCH: FOLD", 1,
+                accented.getFlagArity("\u00c9T\u00c9", 0, 3));
+        Assert.assertEquals("SCH: FOLD", 0,
+                accented.getFlagArity("\u03a3\u0399\u0393\u039c\u0391", 0, 5));
+
+        // Test a boolean flag not taking the following token
+        Arguments args = Arguments.parse(paramsBase,
+                "sub -v off -f value --size 3 4 on -q x");
+        Params params = args.getParams();
+        Assert.assertTrue("SCH: BOOL", args.hasNonValueFlag("v"));
+        Assert.assertEquals("SCH: VALUE", "value",
+                args.getValueFlag("f").getRawValue());
+        Flag size = args.getValueFlag("size");
+        Assert.assertEquals("SCH: MULTI", 2, size.getValues().size());
+        Assert.assertEquals("SCH: MULTI", 3, size.getValues().get(0).asInt());
+        Assert.assertEquals("SCH: MULTI", 4, size.getValues().get(1).asInt());
+        // undeclared flags are parsed as normal
+        Assert.assertEquals("SCH: UNDECL", "x",
+                args.getValueFlag("q").getRawValue());
+        Assert.assertEquals("SCH: POS", 3, args.length(false));
+        Assert.assertEquals("SCH: PARAM", "off", params.get("option1").get());
+        Assert.assertEquals("SCH: PARAM", "on", params.get("optional").get());
+        Assert.assertTrue("SCH: VALID", params.valid());
+
+        // Test the same input without the schema
+        Arguments plain = Arguments.parse(
+                "sub -v off -f value --size 3 4 on -q x");
+        Assert.assertEquals("SCH: PLAIN", "off",
+                plain.getValueFlag("v").getRawValue());
+        Assert.assertTrue("SCH: PLAIN", plain.hasNonValueFlag("size"));
+        Assert.assertEquals("SCH: PLAIN", 4, plain.length(false));
+
+        // Test pre-split input and a flag missing its values at the end
+        Arguments split = new Arguments(paramsBase,
+                "sub", "-v", "off", "-f", "x", "--size", "3");
+        Assert.assertEquals("SCH: SPLIT", 1,
+                split.getValueFlag("size").getValues().size());
+        Assert.assertTrue("SCH: SPLIT", split.getParams().valid());
+
+        // Test a missing required flag
+        Arguments missing = Arguments.parse(paramsBase, "sub -v off");
+        Assert.assertFalse("SCH: MISSING", missing.getParams().valid());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.params.Parameter;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParams;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+public class TestSlots {
+    @Test
+    public void runTest() {
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/warp set <name> <world> [x] [z]");
+
+        // Test slots follow the usage string
+        Assert.assertEquals("SLOTS: LEN", 4, base.length());
+        Assert.assertEquals("SLOTS: SLOT", 0, base.getSlot("name"));
+        Assert.assertEquals("SLOTS: SLOT", 3, base.getSlot("z"));
+        Assert.assertEquals("SLOTS: SLOT", -1, base.getSlot("y"));
+        Assert.assertTrue("SLOTS: INFO", base.getInfo(2).isOptional());
+
+        // Test binding by slot
+        Params params = Arguments.parse(base, "set home world 10").getParams();
+        Assert.assertTrue("SLOTS: VALID", params.valid());
+        Assert.assertEquals("SLOTS: GET", "home", params.get("name").get());
+        Assert.assertEquals("SLOTS: GET", 10, params.get("x").asInt());
+        Assert.assertFalse("SLOTS: HAS", params.has("z"));
+        Assert.assertNull("SLOTS: GET", params.get("y"));
+        Assert.assertEquals("SLOTS: NAMES",
+                new HashSet<>(Arrays.asList("name", "world", "x")),
+                params.parameters());
+        Assert.assertEquals("SLOTS: VALUES", 3, params.values().size());
+        Assert.assertEquals("SLOTS: ENTRIES", 3,
+                ((SimpleParams) params).entries().size());
+
+        // Test reuse clears the previous values
+        Params reused = base.createParams(Arguments.parse("set spawn"),
+                params);
+        Assert.assertSame("SLOTS: REUSE", params, reused);
+        Assert.assertFalse("SLOTS: INVALID", reused.valid());
+        Assert.assertEquals("SLOTS: REUSE", "spawn", reused.get("name").get());
+        Assert.assertFalse("SLOTS: REUSE", reused.has("x"));
+
+        // Test the map constructor
+        Assert.assertTrue("SLOTS: MAP", new SimpleParams(null, base,
+                Collections.emptyMap()).parameters().isEmpty());
+        Map<String, Parameter> values = new HashMap<>();
+        values.put("world", null);
+        values.put("z", new Parameter("7", base.getInfo(3)));
+        values.put("y", new Parameter("8", base.getInfo(2)));
+        Params mapped = new SimpleParams(null, base, values);
+        Assert.assertEquals("SLOTS: MAP", Collections.singleton("z"),
+                mapped.parameters());
+        Assert.assertEquals("SLOTS: MAP", 7, mapped.get("z").asInt());
+        Assert.assertFalse("SLOTS: MAP", mapped.has("y"));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+import pw.ollie.args.ArgumentFormatException;
+import pw.ollie.args.Arguments;
+import pw.ollie.args.Flag;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+public class TestStream {
+    @Test
+    public void runTest() {
+        Arguments args = Arguments.parse("kick -r spam Notch -w 1 jeb_ -r afk");
+
+        // Test streams of arguments
+        Assert.assertEquals("STREAM: ALL",
+                Arrays.asList("kick", "-r", "spam", "Notch", "-w", "1", "jeb_",
+                        "-r", "afk"),
+                args.stream().map(Argument::get).collect(Collectors.toList()));
+        Assert.assertEquals("STREAM: POSITIONALS",
+                Arrays.asList("kick", "Notch", "jeb_"),
+                args.positionals().map(Argument::get)
+                        .collect(Collectors.toList()));
+        Assert.assertSame("STREAM: CACHED", args.get(3),
+                args.positionals().skip(1).findFirst().get());
+        Assert.assertEquals("STREAM: FLAGS", "r=spam w=1 r=afk",
+                args.flags().map(flag -> flag.getName() + "="
+                        + flag.getValue().get())
+                        .collect(Collectors.joining(" ")));
+        Assert.assertEquals("STREAM: FLAGS", 0,
+                Arguments.parse("a b --c").flags().count());
+
+        // Test spliterator characteristics and splitting
+        Spliterator<Argument> spliterator = args.stream().spliterator();
+        Assert.assertTrue("STREAM: CHARACTERISTICS",
+                spliterator.hasCharacteristics(Spliterator.ORDERED
+                        | Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assert.assertFalse("STREAM: CHARACTERISTICS",
+                spliterator.hasCharacteristics(Spliterator.IMMUTABLE));
+        Assert.assertEquals("STREAM: SIZE", 9, spliterator.getExactSizeIfKnown());
+        Spliterator<Argument> prefix = spliterator.trySplit();
+        Assert.assertEquals("STREAM: SPLIT", 4, prefix.getExactSizeIfKnown());
+        Assert.assertEquals("STREAM: SPLIT", 5,
+                spliterator.getExactSizeIfKnown());
+
+        // Test parallel streams over many arguments
+        StringBuilder line = new StringBuilder("sum");
+        for (int i = 1; i <= 100000; i++) {
+            line.append(' ').append(i);
+        }
+        Arguments numbers = Arguments.parse(line);
+        Assert.assertEquals("STREAM: PARALLEL", 5000050000L + "sum".length(),
+                numbers.positionals().parallel()
+                        .mapToLong(arg -> arg.isLong() ? arg.asLong()
+                                : arg.length()).sum());
+        Assert.assertEquals("STREAM: LONGS", 5000050000L,
+                numbers.longs(1, 100001).parallel().sum());
+        try {
+            numbers.ints(0, 2).sum();
+            Assert.fail("STREAM: THROW");
+        } catch (ArgumentFormatException e) {
+            Assert.assertEquals("STREAM: THROW", 0, e.getIndex());
+        }
+        Assert.assertArrayEquals("STREAM: INTS", new int[] { 4, 5 },
+                Arguments.parse("4 --x 5").ints(0, 2).toArray());
+
+        // Test the raw list view
+        List<String> list = args.asList();
+        Assert.assertEquals("STREAM: LIST", 9, list.size());
+        Assert.assertEquals("STREAM: LIST", "Notch", list.get(3));
+        Assert.assertEquals("STREAM: LIST", Arrays.asList(args.toStringArray()),
+                list);
+        try {
+            list.set(0, "ban");
+            Assert.fail("STREAM: READ ONLY");
+        } catch (UnsupportedOperationException expected) {
+        }
+        Assert.assertEquals("STREAM: EMPTY", 0, new Arguments().stream().count());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+
+public class TestTables {
+    @Test
+    public void runTest() {
+        // Test the token tables for the array and line constructors
+        Arguments[] all = { new Arguments("give", "-n", "5", "Notch", "--all",
+                "stone", "-last"),
+                Arguments.parse("give -n 5 Notch --all stone -last") };
+        for (Arguments args : all) {
+            Assert.assertEquals("TABLE: LEN", 7, args.length());
+            Assert.assertEquals("TABLE: LEN", 7, args.length(true));
+            Assert.assertEquals("TABLE: POS LEN", 3, args.length(false));
+
+            String[] tokens = { "give", "-n", "5", "Notch", "--all", "stone",
+                    "-last" };
+            for (int i = 0; i < tokens.length; i++) {
+                Assert.assertEquals("TABLE: GET " + i, tokens[i],
+                        args.getString(i));
+                Assert.assertEquals("TABLE: GET " + i, tokens[i],
+                        args.get(i).get());
+            }
+            String[] positionals = { "give", "Notch", "stone" };
+            for (int i = 0; i < positionals.length; i++) {
+                Assert.assertEquals("TABLE: POS " + i, positionals[i],
+                        args.getString(i, false));
+                Assert.assertEquals("TABLE: POS " + i, positionals[i],
+                        args.get(i, false).get());
+            }
+
+            Assert.assertEquals("TABLE: FLAG", "5",
+                    args.getValueFlag("n").getRawValue());
+            Assert.assertTrue("TABLE: NVFLAG", args.hasNonValueFlag("all"));
+            Assert.assertTrue("TABLE: NVFLAG", args.hasNonValueFlag("last"));
+            Assert.assertArrayEquals("TABLE: ARRAY", tokens,
+                    args.toStringArray());
+
+            for (int bad : new int[] { -1, 7 }) {
+                try {
+                    args.get(bad);
+                    Assert.fail("TABLE: BOUNDS " + bad);
+                } catch (IndexOutOfBoundsException expected) {
+                }
+            }
+            try {
+                args.getString(3, false);
+                Assert.fail("TABLE: BOUNDS");
+            } catch (IndexOutOfBoundsException expected) {
+            }
+        }
+
+        // Test growing the tables past their initial size
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            line.append(i).append(i % 3 == 0 ? " -k" + i + " v" + i : "")
+                    .append(' ');
+        }
+        Arguments big = Arguments.parse(line);
+        Assert.assertEquals("TABLE: GROW", 1000, big.length(false));
+        Assert.assertEquals("TABLE: GROW", 1000 + 334 * 2, big.length());
+        Assert.assertEquals("TABLE: GROW", "999", big.getString(999, false));
+        Assert.assertEquals("TABLE: GROW", "v999",
+                big.getValueFlag("k999").getRawValue());
+
+        // Test empty arguments
+        Arguments empty = new Arguments();
+        Assert.assertEquals("TABLE: EMPTY", 0, empty.length());
+        Assert.assertEquals("TABLE: EMPTY", 0, empty.length(false));
+        Assert.assertEquals("TABLE: EMPTY", 0, empty.toStringArray().length);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Argument;
+
+import java.util.concurrent.TimeUnit;
+
+public class TestUnits {
+    @Test
+    public void runTest() {
+        // Test radix prefixes and underscores
+        Assert.assertEquals("UNIT: RADIX", 31, new Argument("0x1F").asLongRadix());
+        Assert.assertEquals("UNIT: RADIX", -10,
+                new Argument("-0b1010").asLongRadix());
+        Assert.assertEquals("UNIT: RADIX", 8, new Argument("0o10").asLongRadix());
+        Assert.assertEquals("UNIT: RADIX", 1_000_000,
+                new Argument("1_000_000").asLongRadix());
+        Assert.assertEquals("UNIT: RADIX", 10, new Argument("010").asLongRadix());
+        Assert.assertEquals("UNIT: RADIX", Long.MIN_VALUE,
+                new Argument("-0x8000_0000_0000_0000").asLongRadix());
+        Assert.assertTrue("UNIT: RADIX",
+                new Argument("-0x8000000000000000").isLongRadix());
+        Assert.assertFalse("UNIT: RADIX",
+                new Argument("0x8000000000000000").isLongRadix());
+        for (String bad : new String[] { "", "-", "0x", "_1", "1_", "0x_1",
+                "0b2", "1.5", "0xG" }) {
+            Assert.assertFalse("UNIT: RADIX " + bad,
+                    new Argument(bad).isLongRadix());
+        }
+        Assert.assertEquals("UNIT: RADIX", -1,
+                new Argument("0xZ").asLongRadix(-1));
+        try {
+            new Argument("0xZ").asLongRadix();
+            Assert.fail("UNIT: THROW");
+        } catch (NumberFormatException expected) {
+        }
+
+        // Test byte sizes
+        Assert.assertEquals("UNIT: SIZE", 512, new Argument("512").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 512, new Argument("512b").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 64 << 10,
+                new Argument("64k").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 2L << 30,
+                new Argument("2G").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 10L << 20,
+                new Argument("10MiB").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 3L << 40,
+                new Argument("3tb").asByteSize());
+        Assert.assertEquals("UNIT: SIZE", 7L << 60,
+                new Argument("7E").asByteSize());
+        for (String bad : new String[] { "", "k", "-1k", "8E", "1.5G", "1x",
+                "1kx", "1ki", "1bb" }) {
+            Assert.assertFalse("UNIT: SIZE " + bad,
+                    new Argument(bad).isByteSize());
+        }
+        Assert.assertEquals("UNIT: SIZE", 0, new Argument("?").asByteSize(0));
+
+        // Test durations
+        Assert.assertEquals("UNIT: TIME", TimeUnit.SECONDS.toNanos(30),
+                new Argument("30s").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", TimeUnit.SECONDS.toNanos(330),
+                new Argument("5m30s").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", TimeUnit.MINUTES.toNanos(90),
+                new Argument("1.5h").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", TimeUnit.MILLISECONDS.toNanos(250),
+                new Argument("250ms").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", 1500,
+                new Argument("1.5us").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", -TimeUnit.DAYS.toNanos(2),
+                new Argument("-2d").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", 500_000_000,
+                new Argument(".5s").asDurationNanos());
+        Assert.assertEquals("UNIT: TIME", 7, new Argument("7ns").asDurationNanos());
+        for (String bad : new String[] { "", "30", "s", "-", "1.s5", "5x",
+                "1h30", "99999999999999d", ".s" }) {
+            Assert.assertFalse("UNIT: TIME " + bad,
+                    new Argument(bad).isDuration());
+        }
+        Assert.assertEquals("UNIT: TIME", -1,
+                new Argument("soon").asDurationNanos(-1));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.junit.Assert;
+import org.junit.Test;
+
+import pw.ollie.args.Arguments;
+import pw.ollie.args.params.Parameter;
+import pw.ollie.args.params.Params;
+import pw.ollie.args.params.impl.SimpleParams;
+import pw.ollie.args.params.impl.SimpleParamsBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+public class TestViews {
+    @Test
+    public void runTest() {
+        SimpleParamsBase base = SimpleParamsBase.fromUsageString(
+                "/give <zeta> <alpha> <mid> [extra] [last]");
+        SimpleParams params = (SimpleParams) Arguments.parse(base,
+                "a b a c").getParams();
+
+        // Test the views follow declaration order
+        Set<String> names = params.parameters();
+        Assert.assertEquals("VIEWS: NAMES",
+                Arrays.asList("zeta", "alpha", "mid", "extra"),
+                new ArrayList<>(names));
+        Assert.assertTrue("VIEWS: CONTAINS", names.contains("extra"));
+        Assert.assertFalse("VIEWS: CONTAINS", names.contains("last"));
+
+        // equal values are still separate parameters
+        Set<Parameter> values = params.values();
+        Assert.assertEquals("VIEWS: VALUES", 4, values.size());
+        List<String> raw = new ArrayList<>();
+        for (Parameter value : values) {
+            raw.add(value.get());
+        }
+        Assert.assertEquals("VIEWS: VALUES", Arrays.asList("a", "b", "a", "c"),
+                raw);
+
+        List<String> keys = new ArrayList<>();
+        for (Entry<String, Parameter> entry : params.entries()) {
+            keys.add(entry.getKey() + "=" + entry.getValue().get());
+        }
+        Assert.assertEquals("VIEWS: ENTRIES",
+                Arrays.asList("zeta=a", "alpha=b", "mid=a", "extra=c"), keys);
+
+        // Test forEach in declaration order
+        StringBuilder visited = new StringBuilder();
+        params.forEach((info, param) -> visited.append(info.getName())
+                .append(info.isOptional() ? "?" : "").append(' '));
+        Assert.assertEquals("VIEWS: FOREACH", "zeta alpha mid extra? ",
+                visited.toString());
+
+        // Test the views are read-only and follow reuse
+        try {
+            names.remove("zeta");
+            Assert.fail("VIEWS: READ ONLY");
+        } catch (UnsupportedOperationException expected) {
+        }
+        Params reused = base.createParams(Arguments.parse("x y"), params);
+        Assert.assertEquals("VIEWS: REUSE", 2, names.size());
+        Assert.assertEquals("VIEWS: REUSE", 2, reused.values().size());
+    }
+}
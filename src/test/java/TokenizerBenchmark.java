@@ -0,0 +1,66 @@
+/*
+ * This file is part of jlibargs, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2014-2019 Oliver Stanley <http://ollie.pw>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import pw.ollie.args.Arguments;
+import pw.ollie.args.FlagSyntax;
+
+/**
+ * Measures the cost per token of parsing a line with each {@link FlagSyntax},
+ * reusing one {@link Arguments} object as a server handling many commands
+ * would. Not run as part of the tests; run the main method directly, giving
+ * the name of a syntax to only measure that one.
+ */
+public class TokenizerBenchmark {
+    private static final String LINE = "deploy service-a --region=eu-west-1"
+            + " -vq --replicas 3 -t 30s --image=registry/app:1.2.3 --dry-run"
+            + " target-one target-two -- -literal";
+    private static final int WARMUP = 200_000;
+    private static final int RUNS = 1_000_000;
+
+    public static void main(String[] args) {
+        FlagSyntax[] syntaxes = args.length == 0 ? FlagSyntax.values()
+                : new FlagSyntax[] { FlagSyntax.valueOf(args[0]) };
+        for (int round = 0; round < 5; round++) {
+            for (FlagSyntax syntax : syntaxes) {
+                run(syntax);
+            }
+        }
+    }
+
+    private static void run(FlagSyntax syntax) {
+        Arguments arguments = new Arguments().withSyntax(syntax);
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += arguments.resetLine(LINE).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            sink += arguments.resetLine(LINE).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        int tokens = arguments.length();
+        System.out.printf("%-6s %6.1f ns/line %5.2f ns/token (%d)%n", syntax,
+                (double) elapsed / RUNS, (double) elapsed / RUNS / tokens,
+                sink);
+    }
+}